@@ -29,6 +29,18 @@ public class ExceptionFactory {
      * @return 包装后的RuntimeException(PersistenceException)
      */
     public static RuntimeException wrapException(String message, Exception e) {
-        return new PersistenceException(ErrorContext.instance().message(message).cause(e).toString(), e);
+        return wrapException(message, e, ErrorContext.instance());
+    }
+
+    /**
+     * 使用调用方持有的错误上下文包装异常，错误信息的格式与{@link #wrapException(String, Exception)}相同
+     *
+     * @param message 错误消息
+     * @param e       需要被包装的原始异常
+     * @param context 错误上下文，例如通过{@link ErrorContext#create()}创建的上下文
+     * @return 包装后的RuntimeException(PersistenceException)
+     */
+    public static RuntimeException wrapException(String message, Exception e, ErrorContext context) {
+        return new PersistenceException(context.message(message).cause(e).toString(), e);
     }
 }
\ No newline at end of file
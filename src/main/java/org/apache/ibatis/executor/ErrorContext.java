@@ -2,6 +2,13 @@ package org.apache.ibatis.executor;
 
 /**
  * 错误上下文
+ * <p>
+ * 默认通过{@link #instance()}绑定到当前线程。大量使用虚拟线程时，可以改用{@link #create()}创建由调用方持有的上下文，
+ * 不经过ThreadLocal，出错时传给{@link org.apache.ibatis.exceptions.ExceptionFactory#wrapException(String, Exception, ErrorContext)}，
+ * 生成的错误信息与绑定到线程的上下文相同。
+ * </p>
+ * 两种上下文在{@link #store()}和{@link #recall()}之间复用同一个嵌套上下文，嵌套调用不会每次都创建新的实例；
+ * 只有拼接错误信息时才会分配内存。
  *
  * @author heng
  * @date 2025年11月03日16:22:51
@@ -21,6 +28,16 @@ public class ErrorContext {
      */
     private ErrorContext stored;
 
+    /**
+     * 上一次{@link #store()}创建的嵌套上下文，{@link #recall()}之后可以再次使用
+     */
+    private ErrorContext nested;
+
+    /**
+     * 是否绑定到当前线程，通过{@link #create()}创建的上下文由调用方持有
+     */
+    private final boolean bound;
+
     /**
      * 资源信息
      */
@@ -55,7 +72,11 @@ public class ErrorContext {
      * 私有构造函数，防止直接实例化
      */
     private ErrorContext() {
+        this(true);
+    }
 
+    private ErrorContext(boolean bound) {
+        this.bound = bound;
     }
 
     /**
@@ -68,15 +89,32 @@ public class ErrorContext {
     }
 
     /**
-     * 存储当前错误上下文并创建新的上下文实例
+     * 创建不绑定到线程的错误上下文，由调用方持有并在出错时传给
+     * {@link org.apache.ibatis.exceptions.ExceptionFactory#wrapException(String, Exception, ErrorContext)}。
+     * 同一个上下文可以在多次操作间通过{@link #reset()}复用
      *
      * @return 新的错误上下文实例
      */
+    public static ErrorContext create() {
+        return new ErrorContext(false);
+    }
+
+    /**
+     * 存储当前错误上下文并切换到嵌套的上下文实例
+     *
+     * @return 嵌套的错误上下文实例
+     */
     public ErrorContext store() {
-        ErrorContext newContext = new ErrorContext();
+        ErrorContext newContext = nested;
+        if (newContext == null || newContext.stored != null) {
+            newContext = new ErrorContext(bound);
+            nested = newContext;
+        }
         newContext.stored = this;
-        LOCAL.set(newContext);
-        return LOCAL.get();
+        if (bound) {
+            LOCAL.set(newContext);
+        }
+        return newContext;
     }
 
     /**
@@ -86,10 +124,16 @@ public class ErrorContext {
      */
     public ErrorContext recall() {
         if (stored != null) {
-            LOCAL.set(stored);
+            ErrorContext previous = stored;
             stored = null;
+            // 清空后留给下一次store()使用
+            clear();
+            if (bound) {
+                LOCAL.set(previous);
+            }
+            return previous;
         }
-        return LOCAL.get();
+        return bound ? LOCAL.get() : this;
     }
 
     /**
@@ -164,14 +208,33 @@ public class ErrorContext {
      * @return 当前错误上下文实例
      */
     public ErrorContext reset() {
+        clear();
+        if (!bound) {
+            return this;
+        }
+        if (Thread.currentThread().isVirtual()) {
+            // 虚拟线程生命周期短，保留已有的ThreadLocal条目，只换回一个干净的根上下文，避免反复删除和重建
+            ErrorContext root = this;
+            while (root.stored != null) {
+                ErrorContext parent = root.stored;
+                root.stored = null;
+                root = parent;
+            }
+            root.clear();
+            LOCAL.set(root);
+        } else {
+            LOCAL.remove();
+        }
+        return this;
+    }
+
+    private void clear() {
         resource = null;
         activity = null;
         object = null;
         message = null;
         sql = null;
         cause = null;
-        LOCAL.remove();
-        return this;
     }
 
     /**
@@ -0,0 +1,127 @@
+package org.apache.ibatis.executor.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的延迟直方图
+ * <p>
+ * 按微秒记录，桶的划分与HdrHistogram相同：小于16微秒时每微秒一个桶，之后每个2的幂区间再均分为8个桶，
+ * 相对误差不超过12.5%。超过约1.2小时的值计入最后一个桶。每个桶是一个{@link LongAdder}，
+ * 多个线程同时记录到同一个桶时不会竞争同一个变量；桶在第一次记录时才创建，实际用到的桶通常只有十几个。
+ * 读取百分位数时汇总各桶计数，不需要加锁。
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    /** 每个2的幂区间内的子桶数量的位数 */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /** 可以区分的最大值，单位微秒 */
+    private static final long MAX_MICROS = (1L << 32) - 1;
+    /** 桶的数量 */
+    static final int BUCKET_COUNT = bucketIndex(MAX_MICROS) + 1;
+
+    private final AtomicReferenceArray<LongAdder> counts = new AtomicReferenceArray<>(BUCKET_COUNT);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    public void record(long nanos) {
+        int index = bucketIndex(Math.min(TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0)), MAX_MICROS));
+        LongAdder count = counts.get(index);
+        if (count == null) {
+            count = new LongAdder();
+            if (!counts.compareAndSet(index, null, count)) {
+                count = counts.get(index);
+            }
+        }
+        count.increment();
+    }
+
+    /**
+     * 复制各桶的计数。并发记录时各桶之间不保证是同一时刻的值
+     *
+     * @return 各桶的计数
+     */
+    long[] copyCounts() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            LongAdder count = counts.get(i);
+            copy[i] = count == null ? 0 : count.sum();
+        }
+        return copy;
+    }
+
+    /**
+     * 清空所有计数
+     */
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            LongAdder count = counts.get(i);
+            if (count != null) {
+                count.reset();
+            }
+        }
+    }
+
+    /**
+     * 计算值所在的桶
+     *
+     * @param micros 值，单位微秒
+     * @return 桶的索引
+     */
+    static int bucketIndex(long micros) {
+        int exponent = 63 - Long.numberOfLeadingZeros(micros | 1);
+        if (exponent < SUB_BUCKET_BITS) {
+            return (int) micros;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * 计算桶能容纳的最大值
+     *
+     * @param index 桶的索引
+     * @return 最大值，单位微秒
+     */
+    static long bucketUpperBound(int index) {
+        return bucketLowerBound(index + 1) - 1;
+    }
+
+    private static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long subBucket = index & (SUB_BUCKET_COUNT - 1);
+        return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * 从各桶的计数计算百分位数
+     *
+     * @param counts     各桶的计数
+     * @param total      计数之和
+     * @param percentile 百分位，0到100之间
+     * @return 百分位数所在桶的最大值，单位纳秒；没有记录时返回0
+     */
+    static long percentile(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return TimeUnit.MICROSECONDS.toNanos(bucketUpperBound(i));
+            }
+        }
+        return TimeUnit.MICROSECONDS.toNanos(bucketUpperBound(counts.length - 1));
+    }
+}
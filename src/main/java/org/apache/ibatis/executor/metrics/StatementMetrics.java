@@ -0,0 +1,98 @@
+package org.apache.ibatis.executor.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个MappedStatement的执行指标
+ * <p>
+ * 计数使用{@link LongAdder}，多个线程同时执行同一条语句时不会竞争同一个变量；延迟记录在{@link LatencyHistogram}中。
+ * 记录指标不分配任何对象，可以在生产环境中一直开启。读取时通过{@link #snapshot()}获取不可变的快照。
+ * </p>
+ * 一次执行的耗时分为三段：准备（创建PreparedStatement）、执行（调用execute直到返回）、读取（读取结果集并映射结果，
+ * 直到结果集读完或关闭）。延迟是三段之和，语句被复用时之后的执行不包含准备时间。
+ */
+public final class StatementMetrics {
+
+    /** 语句ID */
+    private final String id;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder prepareNanos = new LongAdder();
+    private final LongAdder executeNanos = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * 构造函数
+     *
+     * @param id 语句ID
+     */
+    public StatementMetrics(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 记录准备语句的耗时
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    public void recordPrepare(long nanos) {
+        prepareNanos.add(nanos);
+    }
+
+    /**
+     * 记录一次成功的执行
+     *
+     * @param executeNanos 执行的耗时，单位纳秒
+     * @param fetchNanos   读取结果的耗时，单位纳秒
+     * @param totalNanos   包含准备时间在内的总耗时，单位纳秒
+     * @param rows         读取或更新的行数，-1表示未知
+     */
+    public void recordExecution(long executeNanos, long fetchNanos, long totalNanos, long rows) {
+        executions.increment();
+        this.executeNanos.add(executeNanos);
+        if (fetchNanos > 0) {
+            this.fetchNanos.add(fetchNanos);
+        }
+        if (rows > 0) {
+            this.rows.add(rows);
+        }
+        latency.record(totalNanos);
+    }
+
+    /**
+     * 记录一次失败的执行，失败的执行不计入执行次数和延迟
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * 获取当前指标的快照
+     *
+     * @return 不可变的快照
+     */
+    public StatementMetricsSnapshot snapshot() {
+        return new StatementMetricsSnapshot(id, executions.sum(), errors.sum(), rows.sum(), prepareNanos.sum(),
+                executeNanos.sum(), fetchNanos.sum(), latency.copyCounts());
+    }
+
+    /**
+     * 清空所有指标。与记录并发执行时，正在记录的执行可能部分保留
+     */
+    public void reset() {
+        executions.reset();
+        errors.reset();
+        rows.reset();
+        prepareNanos.reset();
+        executeNanos.reset();
+        fetchNanos.reset();
+        latency.reset();
+    }
+}
@@ -0,0 +1,53 @@
+package org.apache.ibatis.executor.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按语句ID保存执行指标的注册表
+ * <p>
+ * 每个{@link org.apache.ibatis.session.Configuration}持有一个注册表。语句的指标在第一次执行时创建，
+ * 从未执行过的语句不占用内存。
+ * </p>
+ */
+public class StatementMetricsRegistry {
+
+    private final ConcurrentMap<String, StatementMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * 获取语句的指标，不存在时创建
+     *
+     * @param id 语句ID
+     * @return 语句的指标
+     */
+    public StatementMetrics getMetrics(String id) {
+        StatementMetrics statementMetrics = metrics.get(id);
+        if (statementMetrics == null) {
+            statementMetrics = metrics.computeIfAbsent(id, StatementMetrics::new);
+        }
+        return statementMetrics;
+    }
+
+    /**
+     * 获取所有语句指标的快照
+     *
+     * @return 按语句ID排序的不可变快照
+     */
+    public Map<String, StatementMetricsSnapshot> snapshot() {
+        Map<String, StatementMetricsSnapshot> snapshots = new TreeMap<>();
+        for (StatementMetrics statementMetrics : metrics.values()) {
+            snapshots.put(statementMetrics.getId(), statementMetrics.snapshot());
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * 清空所有语句的指标
+     */
+    public void reset() {
+        metrics.values().forEach(StatementMetrics::reset);
+    }
+}
@@ -0,0 +1,127 @@
+package org.apache.ibatis.executor.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 语句执行指标的不可变快照
+ *
+ * @see StatementMetrics#snapshot()
+ */
+public final class StatementMetricsSnapshot {
+
+    private final String id;
+    private final long executions;
+    private final long errors;
+    private final long rows;
+    private final long prepareNanos;
+    private final long executeNanos;
+    private final long fetchNanos;
+    /** 延迟直方图各桶的计数 */
+    private final long[] latencyCounts;
+    /** 延迟直方图的计数之和，并发记录时可能与执行次数略有差异 */
+    private final long latencyTotal;
+
+    StatementMetricsSnapshot(String id, long executions, long errors, long rows, long prepareNanos,
+            long executeNanos, long fetchNanos, long[] latencyCounts) {
+        this.id = id;
+        this.executions = executions;
+        this.errors = errors;
+        this.rows = rows;
+        this.prepareNanos = prepareNanos;
+        this.executeNanos = executeNanos;
+        this.fetchNanos = fetchNanos;
+        this.latencyCounts = latencyCounts;
+        long total = 0;
+        for (long count : latencyCounts) {
+            total += count;
+        }
+        this.latencyTotal = total;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 获取成功执行的次数
+     *
+     * @return 执行次数
+     */
+    public long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * 获取失败的次数
+     *
+     * @return 失败次数
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * 获取读取或更新的总行数
+     *
+     * @return 行数
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * 获取准备语句的总耗时
+     *
+     * @return 耗时，单位纳秒
+     */
+    public long getPrepareNanos() {
+        return prepareNanos;
+    }
+
+    /**
+     * 获取执行语句的总耗时
+     *
+     * @return 耗时，单位纳秒
+     */
+    public long getExecuteNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * 获取读取结果集并映射结果的总耗时
+     *
+     * @return 耗时，单位纳秒
+     */
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    /**
+     * 获取平均延迟
+     *
+     * @return 平均延迟，单位纳秒；没有执行时返回0
+     */
+    public long getMeanLatencyNanos() {
+        return executions == 0 ? 0 : (prepareNanos + executeNanos + fetchNanos) / executions;
+    }
+
+    /**
+     * 获取延迟的百分位数，误差不超过12.5%
+     *
+     * @param percentile 百分位，0到100之间，例如99.9
+     * @return 延迟，单位纳秒；没有执行时返回0
+     */
+    public long getLatencyPercentileNanos(double percentile) {
+        return LatencyHistogram.percentile(latencyCounts, latencyTotal, percentile);
+    }
+
+    @Override
+    public String toString() {
+        return id + " {executions=" + executions + ", errors=" + errors + ", rows=" + rows
+                + ", prepare=" + TimeUnit.NANOSECONDS.toMillis(prepareNanos) + "ms"
+                + ", execute=" + TimeUnit.NANOSECONDS.toMillis(executeNanos) + "ms"
+                + ", fetch=" + TimeUnit.NANOSECONDS.toMillis(fetchNanos) + "ms"
+                + ", p50=" + TimeUnit.NANOSECONDS.toMicros(getLatencyPercentileNanos(50)) + "us"
+                + ", p99=" + TimeUnit.NANOSECONDS.toMicros(getLatencyPercentileNanos(99)) + "us}";
+    }
+}
@@ -0,0 +1,29 @@
+package org.apache.ibatis.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 二级缓存访问事件，记录一次缓存查找是否命中
+ */
+@Name("org.apache.ibatis.CacheAccess")
+@Label("Second Level Cache Access")
+@Description("Lookup of a query result in the second level cache")
+@Category({ "MyBatis", "Cache" })
+@Enabled(false)
+@StackTrace(false)
+public final class CacheAccessEvent extends jdk.jfr.Event {
+
+    @Label("Cache Id")
+    String cacheId;
+
+    @Label("Statement Id")
+    String statementId;
+
+    @Label("Hit")
+    boolean hit;
+}
@@ -0,0 +1,21 @@
+package org.apache.ibatis.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 配置启动阶段事件，记录解析和构建配置的各个阶段的耗时
+ */
+@Name("org.apache.ibatis.ConfigurationPhase")
+@Label("Configuration Phase")
+@Description("A bootstrap phase of the configuration, such as building the pending statements")
+@Category({ "MyBatis", "Configuration" })
+@StackTrace(false)
+public final class ConfigurationPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+}
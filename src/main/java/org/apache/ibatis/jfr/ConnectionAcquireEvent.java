@@ -0,0 +1,23 @@
+package org.apache.ibatis.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 获取连接事件，记录Transaction.getConnection()的等待时间，例如等待连接池分配连接
+ */
+@Name("org.apache.ibatis.ConnectionAcquire")
+@Label("Connection Acquire")
+@Description("Waiting for Transaction.getConnection(), e.g. for a pooled connection")
+@Category({ "MyBatis", "Transaction" })
+@StackTrace(false)
+@Threshold("10 ms")
+public final class ConnectionAcquireEvent extends jdk.jfr.Event {
+
+    @Label("Transaction Class")
+    Class<?> transactionClass;
+}
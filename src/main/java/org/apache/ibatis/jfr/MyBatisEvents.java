@@ -0,0 +1,241 @@
+package org.apache.ibatis.jfr;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import jdk.jfr.FlightRecorder;
+
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * 创建和提交MyBatis的JDK Flight Recorder事件
+ * <p>
+ * 每种事件都可以通过JFR的设置单独启用或关闭，也可以设置threshold只记录耗时较长的事件。
+ * 按语句记录的事件（{@code org.apache.ibatis.StatementPrepare}、{@code org.apache.ibatis.StatementExecute}、
+ * {@code org.apache.ibatis.ResultMapping}和{@code org.apache.ibatis.CacheAccess}）默认关闭，
+ * 避免持续运行的记录包装所有JDBC对象；需要时在启动参数中添加，例如
+ * {@code -XX:StartFlightRecording:+org.apache.ibatis.StatementExecute#enabled=true}，
+ * 或者调用{@code Recording.enable("org.apache.ibatis.StatementExecute")}。语句事件默认只记录超过10毫秒的调用，
+ * 可以用{@code #threshold}修改。获取连接事件默认启用，同样只记录超过10毫秒的等待。所有事件都不记录堆栈。
+ * 事件关闭或没有正在进行的记录时，{@code begin}方法返回null，
+ * 调用方只多读取一个标志位，不创建任何对象。JFR没有初始化时（从未开始过记录）不会加载任何事件类，
+ * 避免在不使用JFR的应用中触发JFR的初始化。
+ * </p>
+ * 跨越多个方法调用的事件（准备、执行、结果映射）由调用方保存{@code begin}返回的事件，结束时调用对应的{@code commit}方法。
+ */
+public final class MyBatisEvents {
+
+    /** 运行环境是否包含JFR模块 */
+    private static final boolean AVAILABLE = isAvailable();
+
+    private MyBatisEvents() {
+        // disable construction
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * 判断JFR是否已经初始化，没有初始化时所有事件都不会被记录
+     *
+     * @return JFR已经初始化时返回true
+     */
+    private static boolean isRecording() {
+        return AVAILABLE && FlightRecorder.isInitialized();
+    }
+
+    /**
+     * 判断是否启用了任何语句事件，用于决定是否需要包装JDBC对象
+     *
+     * @return 准备、执行或结果映射事件中有一个启用时返回true
+     */
+    public static boolean isStatementEventEnabled() {
+        return isRecording()
+                && (Probes.PREPARE.isEnabled() || Probes.EXECUTE.isEnabled() || Probes.MAPPING.isEnabled());
+    }
+
+    /**
+     * 开始准备语句事件
+     *
+     * @return 事件，未启用时返回null
+     */
+    public static StatementPrepareEvent beginPrepare() {
+        if (!isRecording() || !Probes.PREPARE.isEnabled()) {
+            return null;
+        }
+        StatementPrepareEvent event = new StatementPrepareEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 提交准备语句事件
+     *
+     * @param event       {@link #beginPrepare()}返回的事件
+     * @param statementId 语句ID
+     * @param sql         SQL语句，普通Statement为null
+     */
+    public static void commitPrepare(StatementPrepareEvent event, String statementId, String sql) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.statementId = statementId;
+            event.sqlHash = sqlHash(sql);
+            event.commit();
+        }
+    }
+
+    /**
+     * 开始执行语句事件
+     *
+     * @return 事件，未启用时返回null
+     */
+    public static StatementExecuteEvent beginExecute() {
+        if (!isRecording() || !Probes.EXECUTE.isEnabled()) {
+            return null;
+        }
+        StatementExecuteEvent event = new StatementExecuteEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 提交执行语句事件
+     *
+     * @param event       {@link #beginExecute()}返回的事件
+     * @param statementId 语句ID
+     * @param sql         SQL语句
+     * @param rows        更新的行数，-1表示查询或未知
+     * @param batch       是否为批量执行
+     */
+    public static void commitExecute(StatementExecuteEvent event, String statementId, String sql, long rows,
+            boolean batch) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.statementId = statementId;
+            event.sqlHash = sqlHash(sql);
+            event.rows = rows;
+            event.batch = batch;
+            event.commit();
+        }
+    }
+
+    /**
+     * 开始结果映射事件
+     *
+     * @return 事件，未启用时返回null
+     */
+    public static ResultMappingEvent beginMapping() {
+        if (!isRecording() || !Probes.MAPPING.isEnabled()) {
+            return null;
+        }
+        ResultMappingEvent event = new ResultMappingEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 提交结果映射事件
+     *
+     * @param event       {@link #beginMapping()}返回的事件
+     * @param statementId 语句ID
+     * @param sql         SQL语句
+     * @param rows        读取的行数，-1表示未知
+     */
+    public static void commitMapping(ResultMappingEvent event, String statementId, String sql, long rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.statementId = statementId;
+            event.sqlHash = sqlHash(sql);
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    /**
+     * 记录一次二级缓存查找，由带二级缓存的执行器在查找缓存后调用
+     *
+     * @param cacheId     缓存ID
+     * @param statementId 语句ID
+     * @param hit         是否命中
+     */
+    public static void cacheAccessed(String cacheId, String statementId, boolean hit) {
+        if (isRecording() && Probes.CACHE_ACCESS.isEnabled()) {
+            CacheAccessEvent event = new CacheAccessEvent();
+            event.cacheId = cacheId;
+            event.statementId = statementId;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+    /**
+     * 从事务中获取连接，并记录等待的时间。执行器应调用该方法而不是直接调用{@link Transaction#getConnection()}
+     *
+     * @param transaction 事务
+     * @return 数据库连接
+     * @throws SQLException 获取连接失败时抛出
+     */
+    public static Connection getConnection(Transaction transaction) throws SQLException {
+        if (!isRecording() || !Probes.CONNECTION_ACQUIRE.isEnabled()) {
+            return transaction.getConnection();
+        }
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        Connection connection = transaction.getConnection();
+        event.end();
+        if (event.shouldCommit()) {
+            event.transactionClass = transaction.getClass();
+            event.commit();
+        }
+        return connection;
+    }
+
+    /**
+     * 开始配置启动阶段事件
+     *
+     * @param phase 阶段名称
+     * @return 事件，未启用时返回null
+     */
+    public static ConfigurationPhaseEvent beginPhase(String phase) {
+        if (!isRecording() || !Probes.CONFIGURATION_PHASE.isEnabled()) {
+            return null;
+        }
+        ConfigurationPhaseEvent event = new ConfigurationPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 提交配置启动阶段事件
+     *
+     * @param event {@link #beginPhase(String)}返回的事件，为null时什么都不做
+     */
+    public static void commitPhase(ConfigurationPhaseEvent event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    private static int sqlHash(String sql) {
+        return sql == null ? 0 : sql.hashCode();
+    }
+
+    /**
+     * 只用于判断事件是否启用的实例，不会被提交。在JFR初始化之后才加载
+     */
+    private static final class Probes {
+        static final StatementPrepareEvent PREPARE = new StatementPrepareEvent();
+        static final StatementExecuteEvent EXECUTE = new StatementExecuteEvent();
+        static final ResultMappingEvent MAPPING = new ResultMappingEvent();
+        static final CacheAccessEvent CACHE_ACCESS = new CacheAccessEvent();
+        static final ConnectionAcquireEvent CONNECTION_ACQUIRE = new ConnectionAcquireEvent();
+        static final ConfigurationPhaseEvent CONFIGURATION_PHASE = new ConfigurationPhaseEvent();
+    }
+}
@@ -0,0 +1,33 @@
+package org.apache.ibatis.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 结果映射事件，记录从execute返回结果集到结果集读完或关闭的耗时，包括读取结果集和映射结果对象
+ */
+@Name("org.apache.ibatis.ResultMapping")
+@Label("Result Mapping")
+@Description("Fetching the rows of a result set and mapping them to result objects")
+@Category({ "MyBatis", "Statement" })
+@Enabled(false)
+@StackTrace(false)
+@Threshold("10 ms")
+public final class ResultMappingEvent extends jdk.jfr.Event {
+
+    @Label("Statement Id")
+    String statementId;
+
+    @Label("SQL Hash")
+    @Description("Hash code of the SQL text")
+    int sqlHash;
+
+    @Label("Rows")
+    @Description("Number of rows read from the result set")
+    long rows;
+}
@@ -0,0 +1,36 @@
+package org.apache.ibatis.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 执行语句事件，记录从调用execute到返回的耗时
+ */
+@Name("org.apache.ibatis.StatementExecute")
+@Label("Statement Execute")
+@Description("Execution of a mapped statement, until the driver returns the update count or the result set")
+@Category({ "MyBatis", "Statement" })
+@Enabled(false)
+@StackTrace(false)
+@Threshold("10 ms")
+public final class StatementExecuteEvent extends jdk.jfr.Event {
+
+    @Label("Statement Id")
+    String statementId;
+
+    @Label("SQL Hash")
+    @Description("Hash code of the SQL text")
+    int sqlHash;
+
+    @Label("Rows")
+    @Description("Number of updated rows, -1 for queries and unknown update counts")
+    long rows;
+
+    @Label("Batch")
+    boolean batch;
+}
@@ -0,0 +1,29 @@
+package org.apache.ibatis.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 准备语句事件，记录创建PreparedStatement或Statement的耗时
+ */
+@Name("org.apache.ibatis.StatementPrepare")
+@Label("Statement Prepare")
+@Description("Creation of the JDBC statement for a mapped statement")
+@Category({ "MyBatis", "Statement" })
+@Enabled(false)
+@StackTrace(false)
+@Threshold("10 ms")
+public final class StatementPrepareEvent extends jdk.jfr.Event {
+
+    @Label("Statement Id")
+    String statementId;
+
+    @Label("SQL Hash")
+    @Description("Hash code of the SQL text, 0 for plain statements whose SQL is only known on execution")
+    int sqlHash;
+}
@@ -1,15 +1,20 @@
 package org.apache.ibatis.logging;
 
+import org.apache.ibatis.logging.log4j.Log4jImpl;
 import org.apache.ibatis.logging.slf4j.Slf4jImpl;
 
 import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 /**
  * 日志工厂类，用于创建和管理MyBatis的日志实现
  * <p>
  * 该类负责检测和初始化适当的日志实现，支持多种日志框架如SLF4J、Log4j等。
- * 通过反射机制动态加载日志实现类，并提供线程安全的日志实例创建功能
+ * 内置的日志实现通过构造函数引用直接创建，自定义的日志实现只在设置时通过反射查找一次构造函数。
+ * 同名的日志实例只创建一次并缓存。工厂函数和它的缓存一起发布，切换日志实现时整体替换，不会把旧实现的实例放入新实现的缓存
  * </p>
  *
  * @author heng
@@ -23,7 +28,8 @@ public final class LogFactory {
     public static final String MARKER = "MYBATIS";
 
     private static final ReentrantLock lock = new ReentrantLock();
-    private static Constructor<? extends Log> logConstructor;
+    /** 当前的日志实现，未设置时为null */
+    private static volatile LogImplementation implementation;
 
     static {
         tryImplementation(LogFactory::useSlf4jLogging);
@@ -38,20 +44,44 @@ public final class LogFactory {
         return getLog(clazz.getName());
     }
 
+    /**
+     * 获取指定名称的日志实例，同名的日志实例只创建一次
+     *
+     * @param logger 日志名称
+     * @return 日志实例
+     * @throws LogException 创建日志实例失败时抛出
+     */
     public static Log getLog(String logger) {
+        LogImplementation impl = implementation;
+        Log log = impl.logs.get(logger);
+        if (log != null) {
+            return log;
+        }
         try {
-            return logConstructor.newInstance(logger);
+            log = impl.factory.apply(logger);
         } catch (Throwable t) {
             throw new LogException("Error creating logger for logger " + logger + ".  Cause: " + t, t);
         }
+        // 切换日志实现时放入的是旧实现的缓存，新实现的缓存不受影响
+        Log existing = impl.logs.putIfAbsent(logger, log);
+        return existing != null ? existing : log;
     }
 
+    /**
+     * 使用自定义的日志实现
+     *
+     * @param clazz 日志实现类，必须提供以日志名称为参数的构造函数
+     * @throws LogException 当设置日志实现过程中发生错误时抛出
+     */
+    public static void useCustomLogging(Class<? extends Log> clazz) {
+        setImplementation(clazz);
+    }
 
     /**
      * 配置使用Log4j作为日志实现
      */
     private static void useLog4jLogging() {
-        setImplementation(org.apache.ibatis.logging.log4j.Log4jImpl.class);
+        setImplementation(Log4jImpl.class, Log4jImpl::new);
     }
 
 
@@ -64,7 +94,7 @@ public final class LogFactory {
      * @param runnable 尝试设置日志实现的可执行代码
      */
     private static void tryImplementation(Runnable runnable) {
-        if (logConstructor == null) {
+        if (implementation == null) {
             try {
                 runnable.run();
             } catch (Throwable t) {
@@ -77,32 +107,72 @@ public final class LogFactory {
      * 配置使用SLF4J作为日志实现
      */
     private static void useSlf4jLogging() {
-        setImplementation(org.apache.ibatis.logging.slf4j.Slf4jImpl.class);
+        setImplementation(Slf4jImpl.class, Slf4jImpl::new);
     }
 
     /**
      * 设置日志实现类
      * <p>
-     * 通过反射获取日志实现类的构造函数，并创建实例进行初始化。
-     * 该方法是线程安全的，使用ReentrantLock保证同一时间只有一个线程能设置日志实现
+     * 通过反射获取日志实现类以日志名称为参数的构造函数，之后每个日志名称只调用一次该构造函数
      * </p>
      *
      * @param implClass 日志实现类
      * @throws LogException 当设置日志实现过程中发生错误时抛出
      */
     private static void setImplementation(Class<? extends Log> implClass) {
+        Constructor<? extends Log> constructor;
+        try {
+            constructor = implClass.getConstructor(String.class);
+        } catch (Throwable t) {
+            throw new LogException("Error setting Log implementation.  Cause: " + t, t);
+        }
+        setImplementation(implClass, logger -> {
+            try {
+                return constructor.newInstance(logger);
+            } catch (ReflectiveOperationException e) {
+                throw new LogException("Error creating logger for logger " + logger + ".  Cause: " + e, e);
+            }
+        });
+    }
+
+    /**
+     * 设置日志实现
+     * <p>
+     * 先用工厂函数创建一个实例验证日志实现可用，再用新的工厂函数和空的缓存替换当前的日志实现。
+     * 该方法是线程安全的，使用ReentrantLock保证同一时间只有一个线程能设置日志实现
+     * </p>
+     *
+     * @param implClass 日志实现类
+     * @param factory   根据日志名称创建日志实例的工厂函数
+     * @throws LogException 当设置日志实现过程中发生错误时抛出
+     */
+    private static void setImplementation(Class<? extends Log> implClass, Function<String, ? extends Log> factory) {
         lock.lock();
         try {
-            Constructor<? extends Log> candidate = implClass.getConstructor(String.class);
-            Log log = candidate.newInstance(LogFactory.class.getName());
+            Log log = factory.apply(LogFactory.class.getName());
             if (log.isDebugEnabled()) {
                 log.debug("Logging initialized using '" + implClass + "' adapter.");
             }
-            logConstructor = candidate;
+            implementation = new LogImplementation(factory);
         } catch (Throwable t) {
             throw new LogException("Error setting Log implementation.  Cause: " + t, t);
         } finally {
             lock.unlock();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 日志实现，工厂函数和它创建的日志实例的缓存一起发布
+     */
+    private static final class LogImplementation {
+
+        /** 根据名称创建日志实例的工厂函数 */
+        final Function<String, ? extends Log> factory;
+        /** 按名称缓存的日志实例 */
+        final ConcurrentMap<String, Log> logs = new ConcurrentHashMap<>();
+
+        LogImplementation(Function<String, ? extends Log> factory) {
+            this.factory = factory;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.jdbc;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.ibatis.logging.Log;
+
+/**
+ * JDBC日志的异步分发器。
+ * <p>
+ * JDBC日志记录器只把原始事件（日志对象、SQL或参数值、查询堆栈深度、发布时间）写入一个有界的无锁环形缓冲区，
+ * 由一个后台线程完成格式化并调用{@link Log}实现，查询线程不再等待日志输出的I/O。
+ * 缓冲区满时的处理方式由{@link OverflowPolicy}决定，被丢弃的事件数量可以通过{@link #getDroppedCount()}获取。
+ * </p>
+ * 通过{@link org.apache.ibatis.session.Configuration#setAsyncLogDispatcher(AsyncJdbcLogDispatcher)}为一个配置启用。
+ * 分发器启动前或关闭后，日志按同步方式输出。
+ */
+public final class AsyncJdbcLogDispatcher implements AutoCloseable {
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    public enum OverflowPolicy {
+        /** 缓冲区满时丢弃新事件 */
+        DROP,
+        /** 缓冲区超过一半时只保留每sampleRate个事件中的一个，满时丢弃 */
+        SAMPLE,
+        /** 缓冲区满时查询线程等待空位 */
+        BLOCK
+    }
+
+    /** 日志级别：DEBUG */
+    static final int DEBUG = 0;
+    /** 日志级别：TRACE */
+    static final int TRACE = 1;
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int CLOSED = 2;
+
+    /** 缓冲区为空时，消费线程休眠前自旋等待的次数 */
+    private static final int IDLE_SPINS = 100;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+
+    /** 下一个发布位置，由查询线程竞争 */
+    private final AtomicLong tail = new AtomicLong();
+    /** 下一个消费位置，只由消费线程推进；消费线程退出后由发布线程在锁内推进 */
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long written;
+    private volatile long maxLagNanos;
+
+    private final Thread consumer;
+    private volatile int state = NEW;
+    /** 消费线程是否正在或即将休眠，发布线程据此决定是否唤醒它 */
+    private volatile boolean consumerParked;
+    /** 消费线程是否已退出，由this保护 */
+    private boolean consumerExited;
+
+    /**
+     * 创建分发器，缓冲区满时丢弃事件
+     *
+     * @param capacity 缓冲区容量，向上取整为2的幂
+     */
+    public AsyncJdbcLogDispatcher(int capacity) {
+        this(capacity, OverflowPolicy.DROP, 1);
+    }
+
+    /**
+     * 创建分发器
+     *
+     * @param capacity       缓冲区容量，向上取整为2的幂
+     * @param overflowPolicy 缓冲区满时的处理策略
+     * @param sampleRate     {@link OverflowPolicy#SAMPLE}策略下的采样间隔，其他策略忽略
+     */
+    public AsyncJdbcLogDispatcher(int capacity, OverflowPolicy overflowPolicy, int sampleRate) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be between 1 and 2^30 but was " + capacity + ".");
+        }
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("The sample rate must be positive but was " + sampleRate + ".");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.consumer = new Thread(this::consume, "mybatis-jdbc-log");
+        this.consumer.setDaemon(true);
+    }
+
+    /**
+     * 启动后台消费线程
+     *
+     * @return 当前分发器
+     */
+    public synchronized AsyncJdbcLogDispatcher start() {
+        if (state == NEW) {
+            state = RUNNING;
+            consumer.start();
+        }
+        return this;
+    }
+
+    /**
+     * 停止接收新事件，输出缓冲区中剩余的事件后结束后台线程。关闭时正在发布的事件如果在后台线程结束后才完成发布，
+     * 由发布线程自己输出
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (state == CLOSED) {
+                return;
+            }
+            boolean started = state == RUNNING;
+            state = CLOSED;
+            if (!started) {
+                return;
+            }
+        }
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 发布一个日志事件
+     *
+     * @param log        日志记录器
+     * @param level      日志级别
+     * @param queryStack 查询堆栈深度
+     * @param input      是否为输入操作
+     * @param label      消息前缀
+     * @param payload    消息内容：SQL语句、参数值数组或已格式化的文本
+     * @param sql        payload是否为需要去除多余空白的SQL语句
+     * @return 分发器未运行时返回false，调用方应同步输出；事件被接收或按策略丢弃时返回true
+     */
+    boolean publish(Log log, int level, int queryStack, boolean input, String label, Object payload, boolean sql) {
+        if (state != RUNNING) {
+            return false;
+        }
+        if (overflowPolicy == OverflowPolicy.SAMPLE && tail.get() - head.get() > mask >> 1
+                && sampleCounter.incrementAndGet() % sampleRate != 0) {
+            dropped.increment();
+            return true;
+        }
+        long pos = tail.get();
+        for (;;) {
+            Slot slot = slots[(int) pos & mask];
+            long diff = slot.sequence - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slot.log = log;
+                    slot.level = level;
+                    slot.queryStack = queryStack;
+                    slot.input = input;
+                    slot.label = label;
+                    slot.payload = payload;
+                    slot.sql = sql;
+                    slot.publishedAt = System.nanoTime();
+                    slot.sequence = pos + 1;
+                    published.increment();
+                    if (consumerParked) {
+                        LockSupport.unpark(consumer);
+                    }
+                    if (state == CLOSED) {
+                        // 发布期间分发器被关闭，消费线程可能已经退出，由发布线程输出剩余的事件
+                        drainAfterExit();
+                    }
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                if (overflowPolicy != OverflowPolicy.BLOCK || state != RUNNING) {
+                    dropped.increment();
+                    return true;
+                }
+                // 缓冲区已满，让出CPU等待消费线程腾出空位
+                Thread.yield();
+                pos = tail.get();
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    private void consume() {
+        int idle = 0;
+        for (;;) {
+            if (poll()) {
+                idle = 0;
+            } else if (state == CLOSED && tail.get() == head.get()) {
+                synchronized (this) {
+                    consumerExited = true;
+                    drain();
+                }
+                return;
+            } else if (++idle < IDLE_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                // 先声明要休眠再检查一次，与发布线程先写入事件再检查该标志配合，不会错过唤醒
+                consumerParked = true;
+                if (!isReadable() && state != CLOSED) {
+                    LockSupport.park(this);
+                }
+                consumerParked = false;
+                idle = 0;
+            }
+        }
+    }
+
+    /**
+     * 消费线程退出后，输出在关闭过程中才完成发布的事件
+     */
+    private synchronized void drainAfterExit() {
+        if (consumerExited) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        while (poll()) {
+            // 输出所有已完成发布的事件
+        }
+    }
+
+    /**
+     * 判断下一个位置的事件是否已完成发布
+     *
+     * @return 可以输出时返回true
+     */
+    private boolean isReadable() {
+        long pos = head.get();
+        return slots[(int) pos & mask].sequence == pos + 1;
+    }
+
+    /**
+     * 输出下一个事件
+     *
+     * @return 下一个位置的事件尚未完成发布时返回false
+     */
+    private boolean poll() {
+        long pos = head.get();
+        Slot slot = slots[(int) pos & mask];
+        if (slot.sequence != pos + 1) {
+            return false;
+        }
+        write(slot);
+        slot.log = null;
+        slot.label = null;
+        slot.payload = null;
+        slot.sequence = pos + slots.length;
+        head.lazySet(pos + 1);
+        return true;
+    }
+
+    private void write(Slot slot) {
+        long lag = System.nanoTime() - slot.publishedAt;
+        if (lag > maxLagNanos) {
+            maxLagNanos = lag;
+        }
+        try {
+            String text = slot.label + BaseJdbcLogger.formatPayload(slot.payload, slot.sql);
+            String message = BaseJdbcLogger.prefix(slot.queryStack, slot.input) + text;
+            if (slot.level == TRACE) {
+                slot.log.trace(message);
+            } else {
+                slot.log.debug(message);
+            }
+        } catch (Throwable t) {
+            // 日志输出失败不能中断后台线程
+        }
+        written++;
+    }
+
+    /**
+     * 获取已接收的事件数量
+     *
+     * @return 已接收的事件数量
+     */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * 获取因缓冲区满或采样而丢弃的事件数量
+     *
+     * @return 丢弃的事件数量
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 获取已输出的事件数量
+     *
+     * @return 已输出的事件数量
+     */
+    public long getWrittenCount() {
+        return written;
+    }
+
+    /**
+     * 获取缓冲区中等待输出的事件数量
+     *
+     * @return 等待输出的事件数量
+     */
+    public int getPendingCount() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * 获取事件从发布到输出的最长延迟
+     *
+     * @return 最长延迟，单位纳秒
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * 缓冲区中的一个位置，预先分配并重复使用。sequence等于位置加1时表示事件可以被消费，
+     * 等于位置加容量时表示可以再次发布。
+     */
+    private static final class Slot {
+        volatile long sequence;
+        Log log;
+        int level;
+        int queryStack;
+        boolean input;
+        String label;
+        Object payload;
+        boolean sql;
+        long publishedAt;
+
+        Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
@@ -4,12 +4,9 @@ import org.apache.ibatis.builder.SqlSourceBuilder;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.reflection.ArrayUtil;
 
-import java.lang.reflect.Method;
 import java.sql.Array;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * JDBC日志记录器的基类，提供JDBC操作的日志记录功能。
@@ -19,23 +16,39 @@ import java.util.stream.Collectors;
  * @date 2025-11-04 23:07:37
  */
 public abstract class BaseJdbcLogger {
-    /** PreparedStatement中所有以"set"开头的方法名称集合 */
-    protected static final Set<String> SET_METHODS;
-    /** 执行SQL操作的方法名称集合 */
-    protected static final Set<String> EXECUTE_METHODS = new HashSet<>();
-
-    /** 列名和列值的映射关系 */
-    private final Map<Object, Object> columnMap = new HashMap<>();
-    /** 列名列表 */
-    private final List<Object> columnNames = new ArrayList<>();
-    /** 列值列表 */
-    private final List<Object> columnValues = new ArrayList<>();
+    /** 缓存的日志前缀的最大查询堆栈深度 */
+    private static final int MAX_CACHED_PREFIX_DEPTH = 16;
+    /** 输入操作的日志前缀，按查询堆栈深度缓存 */
+    private static final String[] INPUT_PREFIXES = new String[MAX_CACHED_PREFIX_DEPTH + 1];
+    /** 输出操作的日志前缀，按查询堆栈深度缓存 */
+    private static final String[] OUTPUT_PREFIXES = new String[MAX_CACHED_PREFIX_DEPTH + 1];
+    /** 复用的StringBuilder超过该容量时不再保留，避免长期占用大块内存 */
+    private static final int MAX_RETAINED_BUFFER = 8192;
+
+    /** 列名数组，与列值数组一一对应，执行语句后复用 */
+    private Object[] columnNames = new Object[8];
+    /** 列值数组，基本类型的值记录为{@link Primitive}标记 */
+    private Object[] columnValues = new Object[8];
+    /** 基本类型列值的位表示，避免记录参数时装箱，格式化时才转换为包装类型 */
+    private long[] primitiveValues = new long[8];
+    /** 已记录的列数量 */
+    private int columnCount;
+    /** 记录的列属于已经开始的执行，仍可能被慢查询日志读取，下一次记录时再清除 */
+    private boolean columnsExecuted;
+    /** 格式化日志消息时复用的StringBuilder */
+    private StringBuilder buffer;
 
     /** 日志记录器 */
     protected final Log statementLog;
     /** 查询堆栈深度 */
     protected final int queryStack;
 
+    /** 是否不输出DEBUG和TRACE日志，例如只为慢查询计时而包装的语句 */
+    private final boolean muted;
+
+    /** 异步日志分发器，为null时同步输出日志 */
+    private final AsyncJdbcLogDispatcher asyncDispatcher;
+
     /**
      * 构造函数，初始化JDBC日志记录器
      *
@@ -43,7 +56,32 @@ public abstract class BaseJdbcLogger {
      * @param queryStack 查询堆栈深度
      */
     protected BaseJdbcLogger(Log log, int queryStack) {
+        this(log, queryStack, false);
+    }
+
+    /**
+     * 构造函数，初始化JDBC日志记录器
+     *
+     * @param log        日志记录器
+     * @param queryStack 查询堆栈深度
+     * @param muted      是否不输出DEBUG和TRACE日志
+     */
+    protected BaseJdbcLogger(Log log, int queryStack, boolean muted) {
+        this(log, queryStack, muted, null);
+    }
+
+    /**
+     * 构造函数，初始化JDBC日志记录器
+     *
+     * @param log             日志记录器
+     * @param queryStack      查询堆栈深度
+     * @param muted           是否不输出DEBUG和TRACE日志
+     * @param asyncDispatcher 异步日志分发器，为null时同步输出日志
+     */
+    BaseJdbcLogger(Log log, int queryStack, boolean muted, AsyncJdbcLogDispatcher asyncDispatcher) {
         this.statementLog = log;
+        this.muted = muted;
+        this.asyncDispatcher = asyncDispatcher;
         if (queryStack == 0) {
             this.queryStack = 1;
         } else {
@@ -52,34 +90,106 @@ public abstract class BaseJdbcLogger {
     }
 
     static {
-        SET_METHODS =
-                Arrays.stream(PreparedStatement.class.getDeclaredMethods()).filter(method -> method.getName().startsWith("set")).filter(method -> method.getParameterCount() > 1).map(Method::getName).collect(Collectors.toSet());
-        EXECUTE_METHODS.add("execute");
-        EXECUTE_METHODS.add("executeUpdate");
-        EXECUTE_METHODS.add("executeQuery");
-        EXECUTE_METHODS.add("addBatch");
+        for (int i = 0; i <= MAX_CACHED_PREFIX_DEPTH; i++) {
+            INPUT_PREFIXES[i] = newPrefix(i, true);
+            OUTPUT_PREFIXES[i] = newPrefix(i, false);
+        }
+    }
+
+    int getParameterCount() {
+        return columnCount;
     }
 
     /**
-     * 设置列名和列值的映射关系
+     * 记录列名和列值。调用方只在需要输出参数时记录，不需要时不产生任何开销；
+     * 记录本身只保存引用，基本类型的值使用{@link #setIntColumn(Object, int)}等方法记录，不会装箱
      *
      * @param key   列名
      * @param value 列值
      */
     protected void setColumn(Object key, Object value) {
-        columnMap.put(key, value);
-        columnNames.add(key);
-        columnValues.add(value);
+        int index = nextColumn(key);
+        columnValues[index] = value;
+    }
+
+    protected void setBooleanColumn(Object key, boolean value) {
+        setPrimitiveColumn(key, Primitive.BOOLEAN, value ? 1 : 0);
+    }
+
+    protected void setByteColumn(Object key, byte value) {
+        setPrimitiveColumn(key, Primitive.BYTE, value);
+    }
+
+    protected void setShortColumn(Object key, short value) {
+        setPrimitiveColumn(key, Primitive.SHORT, value);
+    }
+
+    protected void setIntColumn(Object key, int value) {
+        setPrimitiveColumn(key, Primitive.INT, value);
+    }
+
+    protected void setLongColumn(Object key, long value) {
+        setPrimitiveColumn(key, Primitive.LONG, value);
+    }
+
+    protected void setFloatColumn(Object key, float value) {
+        setPrimitiveColumn(key, Primitive.FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    protected void setDoubleColumn(Object key, double value) {
+        setPrimitiveColumn(key, Primitive.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    private void setPrimitiveColumn(Object key, Primitive type, long bits) {
+        int index = nextColumn(key);
+        columnValues[index] = type;
+        primitiveValues[index] = bits;
+    }
+
+    /**
+     * 占用下一个列的位置并记录列名。上一次执行的列在这里才被清除
+     *
+     * @param key 列名
+     * @return 列的位置
+     */
+    private int nextColumn(Object key) {
+        if (columnsExecuted) {
+            columnsReused();
+            clearColumnInfo();
+        }
+        if (columnCount == columnNames.length) {
+            columnNames = Arrays.copyOf(columnNames, columnCount << 1);
+            columnValues = Arrays.copyOf(columnValues, columnCount << 1);
+            primitiveValues = Arrays.copyOf(primitiveValues, columnCount << 1);
+        }
+        columnNames[columnCount] = key;
+        return columnCount++;
     }
 
     /**
-     * 根据列名获取列值
+     * 获取列值，基本类型的值在这里转换为包装类型
+     *
+     * @param index 列的位置
+     * @return 列值
+     */
+    private Object columnValue(int index) {
+        Object value = columnValues[index];
+        return value instanceof Primitive ? ((Primitive) value).box(primitiveValues[index]) : value;
+    }
+
+    /**
+     * 根据列名获取列值，同一列多次设置时返回最后一次的值
      *
      * @param key 列名
      * @return 列值
      */
     protected Object getColumn(Object key) {
-        return columnMap.get(key);
+        for (int i = columnCount - 1; i >= 0; i--) {
+            if (Objects.equals(columnNames[i], key)) {
+                return columnValue(i);
+            }
+        }
+        return null;
     }
 
     /**
@@ -88,16 +198,127 @@ public abstract class BaseJdbcLogger {
      * @return 格式化后的参数值字符串
      */
     protected String getParameterValueString() {
-        List<Object> typeList = new ArrayList<>(columnValues.size());
-        for (Object value : columnValues) {
+        StringBuilder sb = acquireBuffer();
+        appendParameterValues(sb);
+        return releaseBuffer(sb);
+    }
+
+    /**
+     * 把参数值依次写入StringBuilder，格式为{@code 值(类型), 值(类型)}
+     *
+     * @param sb 目标StringBuilder
+     */
+    private void appendParameterValues(StringBuilder sb) {
+        for (int i = 0; i < columnCount; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object value = columnValue(i);
             if (value == null) {
-                typeList.add("null");
+                sb.append("null");
             } else {
-                typeList.add(objectValueString(value) + "(" + value.getClass().getSimpleName() + ")");
+                sb.append(objectValueString(value)).append('(').append(value.getClass().getSimpleName()).append(')');
             }
         }
-        final String parameters = typeList.toString();
-        return parameters.substring(1, parameters.length() - 1);
+    }
+
+    /**
+     * 获取复用的StringBuilder
+     *
+     * @return 已清空的StringBuilder
+     */
+    private StringBuilder acquireBuffer() {
+        StringBuilder sb = buffer;
+        if (sb == null) {
+            sb = new StringBuilder(128);
+            buffer = sb;
+        } else {
+            sb.setLength(0);
+        }
+        return sb;
+    }
+
+    /**
+     * 取出StringBuilder的内容，过大的StringBuilder不再保留
+     *
+     * @param sb 复用的StringBuilder
+     * @return StringBuilder的内容
+     */
+    private String releaseBuffer(StringBuilder sb) {
+        String text = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_BUFFER) {
+            buffer = null;
+        }
+        return text;
+    }
+
+    /**
+     * 复制当前的参数值，供后台线程格式化。{@link Array}类型的值需要在连接关闭前读取，因此在这里提前转换
+     *
+     * @return 参数值数组
+     */
+    Object[] snapshotParameterValues() {
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columnValue(i);
+            if (values[i] instanceof Array) {
+                values[i] = new FormattedValue(objectValueString(values[i]), values[i].getClass().getSimpleName());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 格式化参数值数组，格式与{@link #getParameterValueString()}相同
+     *
+     * @param values 参数值数组
+     * @return 格式化后的参数值字符串
+     */
+    static String formatParameterValues(Object[] values) {
+        return formatParameterValues(values, values.length);
+    }
+
+    /**
+     * 格式化参数值数组的前count个元素
+     *
+     * @param values 参数值数组
+     * @param count  参数数量
+     * @return 格式化后的参数值字符串
+     */
+    static String formatParameterValues(Object[] values, int count) {
+        StringBuilder sb = new StringBuilder(count * 16);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object value = values[i];
+            if (value == null) {
+                sb.append("null");
+            } else if (value instanceof FormattedValue) {
+                FormattedValue formatted = (FormattedValue) value;
+                sb.append(formatted.text).append('(').append(formatted.typeName).append(')');
+            } else {
+                sb.append(valueString(value)).append('(').append(value.getClass().getSimpleName()).append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 格式化异步日志事件的消息内容
+     *
+     * @param payload 参数值数组、SQL语句或文本，可以为null
+     * @param sql     是否为需要去除多余空白的SQL语句
+     * @return 格式化后的消息内容
+     */
+    static String formatPayload(Object payload, boolean sql) {
+        if (payload == null) {
+            return "";
+        }
+        if (payload instanceof Object[]) {
+            return formatParameterValues((Object[]) payload);
+        }
+        return sql ? SqlSourceBuilder.removeExtraWhitespaces((String) payload) : payload.toString();
     }
 
     /**
@@ -107,6 +328,16 @@ public abstract class BaseJdbcLogger {
      * @return 对象值的字符串表示
      */
     protected String objectValueString(Object value) {
+        return valueString(value);
+    }
+
+    /**
+     * 获取对象值的字符串表示，{@link Array}类型输出其中的元素
+     *
+     * @param value 对象值
+     * @return 对象值的字符串表示
+     */
+    static String valueString(Object value) {
         if (value instanceof Array) {
             try {
                 return ArrayUtil.toString(((Array) value).getArray());
@@ -123,16 +354,33 @@ public abstract class BaseJdbcLogger {
      * @return 列名的字符串表示
      */
     protected String getColumnString() {
-        return columnNames.toString();
+        return Arrays.toString(Arrays.copyOf(columnNames, columnCount));
     }
 
     /**
-     * 清除列信息
+     * 清除列信息，保留数组以便下次执行复用
      */
     protected void clearColumnInfo() {
-        columnMap.clear();
-        columnNames.clear();
-        columnValues.clear();
+        if (columnCount > 0) {
+            Arrays.fill(columnNames, 0, columnCount, null);
+            Arrays.fill(columnValues, 0, columnCount, null);
+            columnCount = 0;
+        }
+        columnsExecuted = false;
+    }
+
+    /**
+     * 保留已记录的列直到下一次记录时再清除，供执行结束时的慢查询日志读取，执行期间不需要复制参数
+     */
+    void clearColumnInfoLater() {
+        columnsExecuted = true;
+    }
+
+    /**
+     * 上一次执行的列即将被清除，仍需要这些列的子类可以在这里复制
+     */
+    void columnsReused() {
+        // nothing to keep by default
     }
 
     /**
@@ -145,13 +393,21 @@ public abstract class BaseJdbcLogger {
         return SqlSourceBuilder.removeExtraWhitespaces(original);
     }
 
+    boolean isMuted() {
+        return muted;
+    }
+
+    AsyncJdbcLogDispatcher getAsyncDispatcher() {
+        return asyncDispatcher;
+    }
+
     /**
      * 判断是否启用DEBUG级别日志
      *
      * @return 如果启用DEBUG级别日志返回true，否则返回false
      */
     protected boolean isDebugEnabled() {
-        return statementLog.isDebugEnabled();
+        return !muted && statementLog.isDebugEnabled();
     }
 
     /**
@@ -160,7 +416,7 @@ public abstract class BaseJdbcLogger {
      * @return 如果启用TRACE级别日志返回true，否则返回false
      */
     protected boolean isTraceEnabled() {
-        return statementLog.isTraceEnabled();
+        return !muted && statementLog.isTraceEnabled();
     }
 
     /**
@@ -170,11 +426,41 @@ public abstract class BaseJdbcLogger {
      * @param input 是否为输入操作
      */
     protected void debug(String text, boolean input) {
-        if (statementLog.isDebugEnabled()) {
+        if (isDebugEnabled() && !publish(AsyncJdbcLogDispatcher.DEBUG, input, text, null, false)) {
             statementLog.debug(prefix(input) + text);
         }
     }
 
+    /**
+     * 输出DEBUG级别的SQL语句日志。异步模式下SQL语句的空白字符由后台线程处理
+     *
+     * @param label 消息前缀
+     * @param sql   SQL语句
+     * @param input 是否为输入操作
+     */
+    protected void debugSql(String label, String sql, boolean input) {
+        if (isDebugEnabled() && !publish(AsyncJdbcLogDispatcher.DEBUG, input, label, sql, true)) {
+            statementLog.debug(prefix(input) + label + removeExtraWhitespace(sql));
+        }
+    }
+
+    /**
+     * 输出DEBUG级别的参数值日志。异步模式下只复制参数值，由后台线程格式化
+     *
+     * @param label 消息前缀
+     * @param input 是否为输入操作
+     */
+    protected void debugParameters(String label, boolean input) {
+        if (isDebugEnabled()) {
+            if (asyncDispatcher == null || !asyncDispatcher.publish(statementLog, AsyncJdbcLogDispatcher.DEBUG, queryStack, input,
+                    label, snapshotParameterValues(), false)) {
+                StringBuilder sb = acquireBuffer().append(prefix(input)).append(label);
+                appendParameterValues(sb);
+                statementLog.debug(releaseBuffer(sb));
+            }
+        }
+    }
+
     /**
      * 输出TRACE级别日志
      *
@@ -182,11 +468,20 @@ public abstract class BaseJdbcLogger {
      * @param input 是否为输入操作
      */
     protected void trace(String text, boolean input) {
-        if (statementLog.isTraceEnabled()) {
+        if (isTraceEnabled() && !publish(AsyncJdbcLogDispatcher.TRACE, input, text, null, false)) {
             statementLog.trace(prefix(input) + text);
         }
     }
 
+    /**
+     * 把日志事件交给异步日志分发器
+     *
+     * @return 事件已交给分发器时返回true，需要同步输出时返回false
+     */
+    private boolean publish(int level, boolean input, String label, Object payload, boolean sql) {
+        return asyncDispatcher != null && asyncDispatcher.publish(statementLog, level, queryStack, input, label, payload, sql);
+    }
+
     /**
      * 生成日志前缀
      *
@@ -194,6 +489,31 @@ public abstract class BaseJdbcLogger {
      * @return 日志前缀字符串
      */
     private String prefix(boolean isInput) {
+        return prefix(queryStack, isInput);
+    }
+
+    /**
+     * 获取日志前缀，常见的查询堆栈深度使用缓存的前缀
+     *
+     * @param queryStack 查询堆栈深度
+     * @param isInput    是否为输入操作
+     * @return 日志前缀字符串
+     */
+    static String prefix(int queryStack, boolean isInput) {
+        if (queryStack >= 0 && queryStack <= MAX_CACHED_PREFIX_DEPTH) {
+            return isInput ? INPUT_PREFIXES[queryStack] : OUTPUT_PREFIXES[queryStack];
+        }
+        return newPrefix(queryStack, isInput);
+    }
+
+    /**
+     * 生成日志前缀
+     *
+     * @param queryStack 查询堆栈深度
+     * @param isInput    是否为输入操作
+     * @return 日志前缀字符串
+     */
+    private static String newPrefix(int queryStack, boolean isInput) {
         char[] buffer = new char[queryStack * 2 + 2];
         Arrays.fill(buffer, '=');
         buffer[queryStack * 2 + 1] = ' ';
@@ -204,4 +524,43 @@ public abstract class BaseJdbcLogger {
         }
         return new String(buffer);
     }
+
+    /**
+     * 记录的基本类型列值的类型，列值本身保存在{@link #primitiveValues}中
+     */
+    private enum Primitive {
+        BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE;
+
+        Object box(long bits) {
+            switch (this) {
+                case BOOLEAN:
+                    return bits != 0;
+                case BYTE:
+                    return (byte) bits;
+                case SHORT:
+                    return (short) bits;
+                case INT:
+                    return (int) bits;
+                case LONG:
+                    return bits;
+                case FLOAT:
+                    return Float.intBitsToFloat((int) bits);
+                default:
+                    return Double.longBitsToDouble(bits);
+            }
+        }
+    }
+
+    /**
+     * 提前格式化的参数值及其类型名称
+     */
+    private static final class FormattedValue {
+        final String text;
+        final String typeName;
+
+        FormattedValue(String text, String typeName) {
+            this.text = text;
+            this.typeName = typeName;
+        }
+    }
 }
\ No newline at end of file
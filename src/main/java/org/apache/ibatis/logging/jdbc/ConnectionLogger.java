@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2025 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,52 +15,58 @@
  */
 package org.apache.ibatis.logging.jdbc;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
 import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.ShardingKey;
 import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.ibatis.executor.metrics.StatementMetrics;
+import org.apache.ibatis.jfr.MyBatisEvents;
 import org.apache.ibatis.logging.Log;
-import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
 
 /**
- * Connection proxy to add logging.
+ * Connection wrapper to add logging.
+ * <p>
+ * Implements {@link Connection} directly instead of through a {@link java.lang.reflect.Proxy}, so calls that are not
+ * logged are plain delegations. When the statement log is a {@link SampledStatementLog}, statements that are not
+ * sampled are returned unwrapped, unless the slow query log, the {@link StatementMetrics} or the JDK Flight Recorder
+ * events of {@link MyBatisEvents} need to time them.
  *
  * @author Clinton Begin
  * @author Eduardo Macarron
  */
-public final class ConnectionLogger extends BaseJdbcLogger implements InvocationHandler {
+public final class ConnectionLogger extends BaseJdbcLogger implements Connection {
 
   private final Connection connection;
+  private final String statementId;
+  private final long slowQueryThresholdNanos;
+  private final StatementMetrics metrics;
 
-  private ConnectionLogger(Connection conn, Log statementLog, int queryStack) {
-    super(statementLog, queryStack);
+  private ConnectionLogger(Connection conn, Log statementLog, int queryStack, String statementId,
+      long slowQueryThresholdNanos, StatementMetrics metrics, AsyncJdbcLogDispatcher asyncDispatcher) {
+    super(statementLog, queryStack, false, asyncDispatcher);
     this.connection = conn;
-  }
-
-  @Override
-  public Object invoke(Object proxy, Method method, Object[] params) throws Throwable {
-    try {
-      if (Object.class.equals(method.getDeclaringClass())) {
-        return method.invoke(this, params);
-      }
-      if ("prepareStatement".equals(method.getName()) || "prepareCall".equals(method.getName())) {
-        if (isDebugEnabled()) {
-          debug(" Preparing: " + removeExtraWhitespace((String) params[0]), true);
-        }
-        PreparedStatement stmt = (PreparedStatement) method.invoke(connection, params);
-        return PreparedStatementLogger.newInstance(stmt, statementLog, queryStack);
-      }
-      if ("createStatement".equals(method.getName())) {
-        Statement stmt = (Statement) method.invoke(connection, params);
-        return StatementLogger.newInstance(stmt, statementLog, queryStack);
-      }
-      return method.invoke(connection, params);
-    } catch (Throwable t) {
-      throw ExceptionUtil.unwrapThrowable(t);
-    }
+    this.statementId = statementId;
+    this.slowQueryThresholdNanos = slowQueryThresholdNanos;
+    this.metrics = metrics;
   }
 
   /**
@@ -76,9 +82,96 @@ public final class ConnectionLogger extends BaseJdbcLogger implements Invocation
    * @return the connection with logging
    */
   public static Connection newInstance(Connection conn, Log statementLog, int queryStack) {
-    InvocationHandler handler = new ConnectionLogger(conn, statementLog, queryStack);
-    ClassLoader cl = Connection.class.getClassLoader();
-    return (Connection) Proxy.newProxyInstance(cl, new Class[] { Connection.class }, handler);
+    return new ConnectionLogger(conn, statementLog, queryStack, null, 0, null, null);
+  }
+
+  /**
+   * Creates a logging version of a connection that also records the metrics of the statement.
+   *
+   * @param conn
+   *          the original connection
+   * @param statementLog
+   *          the statement log
+   * @param queryStack
+   *          the query stack
+   * @param metrics
+   *          the metrics of the mapped statement, or null
+   *
+   * @return the connection with logging
+   */
+  public static Connection newInstance(Connection conn, Log statementLog, int queryStack, StatementMetrics metrics) {
+    return new ConnectionLogger(conn, statementLog, queryStack, metrics == null ? null : metrics.getId(), 0,
+        metrics, null);
+  }
+
+  /**
+   * Creates a logging version of a connection if its statements need to be logged, that is if debug logging is
+   * enabled for the statement. The slow query log needs the mapped statement, see
+   * {@link #wrapIfNeeded(Connection, MappedStatement, int)}.
+   *
+   * @param conn
+   *          the original connection
+   * @param statementLog
+   *          the statement log
+   * @param queryStack
+   *          the query stack
+   *
+   * @return the connection with logging, or the original connection
+   */
+  public static Connection wrapIfNeeded(Connection conn, Log statementLog, int queryStack) {
+    return wrapIfNeeded(conn, statementLog, queryStack, null);
+  }
+
+  /**
+   * Creates a logging version of a connection if its statements need to be logged or timed, that is if debug logging
+   * is enabled for the statement or the metrics of the statement are recorded.
+   *
+   * @param conn
+   *          the original connection
+   * @param statementLog
+   *          the statement log
+   * @param queryStack
+   *          the query stack
+   * @param metrics
+   *          the metrics of the mapped statement, or null if they are not recorded
+   *
+   * @return the connection with logging, or the original connection
+   *
+   * @see org.apache.ibatis.mapping.MappedStatement#getStatementMetrics()
+   */
+  public static Connection wrapIfNeeded(Connection conn, Log statementLog, int queryStack, StatementMetrics metrics) {
+    if (statementLog.isDebugEnabled() || metrics != null || MyBatisEvents.isStatementEventEnabled()) {
+      return newInstance(conn, statementLog, queryStack, metrics);
+    }
+    return conn;
+  }
+
+  /**
+   * Creates a logging version of a connection if the statements of a mapped statement need to be logged or timed.
+   * This is what executors should call, as it also applies the slow query threshold and the asynchronous log dispatcher
+   * of the statement's configuration and gives the JDK Flight Recorder events the id of the statement.
+   *
+   * @param conn
+   *          the original connection
+   * @param ms
+   *          the mapped statement that is executed on the connection
+   * @param queryStack
+   *          the query stack
+   *
+   * @return the connection with logging, or the original connection
+   */
+  public static Connection wrapIfNeeded(Connection conn, MappedStatement ms, int queryStack) {
+    Log statementLog = ms.getStatementLog();
+    StatementMetrics metrics = ms.getStatementMetrics();
+    Configuration configuration = ms.getConfiguration();
+    long slowQueryThreshold = configuration.getSlowQueryThreshold();
+    long slowQueryThresholdNanos = slowQueryThreshold > 0 ? TimeUnit.MILLISECONDS.toNanos(slowQueryThreshold) : 0;
+    if (statementLog.isDebugEnabled() || slowQueryThresholdNanos > 0 || metrics != null
+        || MyBatisEvents.isStatementEventEnabled()) {
+      return new ConnectionLogger(conn, statementLog, queryStack, ms.getId(), slowQueryThresholdNanos, metrics,
+          configuration.getAsyncLogDispatcher());
+    }
+    return conn;
   }
 
   /**
@@ -90,4 +183,426 @@ public final class ConnectionLogger extends BaseJdbcLogger implements Invocation
     return connection;
   }
 
+  /**
+   * Decides whether the next statement is logged, see {@link SampledStatementLog}.
+   *
+   * @return true if the statement should be logged
+   */
+  private boolean sample() {
+    return !(statementLog instanceof SampledStatementLog) || ((SampledStatementLog) statementLog).sample();
+  }
+
+  private boolean logPreparing(String sql) {
+    if (!isDebugEnabled() || !sample()) {
+      return false;
+    }
+    debugSql(" Preparing: ", sql, true);
+    return true;
+  }
+
+  private ExecutionTimer newTimer(String sql) {
+    return metrics != null || slowQueryThresholdNanos > 0 || MyBatisEvents.isStatementEventEnabled()
+        ? new ExecutionTimer(statementLog, statementId, slowQueryThresholdNanos, metrics, sql, System.nanoTime())
+        : null;
+  }
+
+  @Override
+  public Statement createStatement() throws SQLException {
+    boolean sampled = isDebugEnabled() && sample();
+    ExecutionTimer timer = newTimer(null);
+    Statement stmt = connection.createStatement();
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? StatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher()) : stmt;
+  }
+
+  @Override
+  public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+    boolean sampled = isDebugEnabled() && sample();
+    ExecutionTimer timer = newTimer(null);
+    Statement stmt = connection.createStatement(resultSetType, resultSetConcurrency);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? StatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher()) : stmt;
+  }
+
+  @Override
+  public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+      throws SQLException {
+    boolean sampled = isDebugEnabled() && sample();
+    ExecutionTimer timer = newTimer(null);
+    Statement stmt = connection.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? StatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher()) : stmt;
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql) throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    PreparedStatement stmt = connection.prepareStatement(sql);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+      throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    PreparedStatement stmt = connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+      int resultSetHoldability) throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    PreparedStatement stmt = connection.prepareStatement(sql, resultSetType, resultSetConcurrency,
+        resultSetHoldability);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    PreparedStatement stmt = connection.prepareStatement(sql, autoGeneratedKeys);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    PreparedStatement stmt = connection.prepareStatement(sql, columnIndexes);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    PreparedStatement stmt = connection.prepareStatement(sql, columnNames);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public CallableStatement prepareCall(String sql) throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    CallableStatement stmt = connection.prepareCall(sql);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    CallableStatement stmt = connection.prepareCall(sql, resultSetType, resultSetConcurrency);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+      int resultSetHoldability) throws SQLException {
+    boolean sampled = logPreparing(sql);
+    ExecutionTimer timer = newTimer(sql);
+    CallableStatement stmt = connection.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    if (timer != null) {
+      timer.prepared();
+    }
+    return sampled || timer != null
+        ? PreparedStatementLogger.newInstance(stmt, statementLog, queryStack, !sampled, timer, getAsyncDispatcher())
+        : stmt;
+  }
+
+  @Override
+  public String nativeSQL(String sql) throws SQLException {
+    return connection.nativeSQL(sql);
+  }
+
+  @Override
+  public void setAutoCommit(boolean autoCommit) throws SQLException {
+    connection.setAutoCommit(autoCommit);
+  }
+
+  @Override
+  public boolean getAutoCommit() throws SQLException {
+    return connection.getAutoCommit();
+  }
+
+  @Override
+  public void commit() throws SQLException {
+    connection.commit();
+  }
+
+  @Override
+  public void rollback() throws SQLException {
+    connection.rollback();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    connection.close();
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    return connection.isClosed();
+  }
+
+  @Override
+  public DatabaseMetaData getMetaData() throws SQLException {
+    return connection.getMetaData();
+  }
+
+  @Override
+  public void setReadOnly(boolean readOnly) throws SQLException {
+    connection.setReadOnly(readOnly);
+  }
+
+  @Override
+  public boolean isReadOnly() throws SQLException {
+    return connection.isReadOnly();
+  }
+
+  @Override
+  public void setCatalog(String catalog) throws SQLException {
+    connection.setCatalog(catalog);
+  }
+
+  @Override
+  public String getCatalog() throws SQLException {
+    return connection.getCatalog();
+  }
+
+  @Override
+  public void setTransactionIsolation(int level) throws SQLException {
+    connection.setTransactionIsolation(level);
+  }
+
+  @Override
+  public int getTransactionIsolation() throws SQLException {
+    return connection.getTransactionIsolation();
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    return connection.getWarnings();
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {
+    connection.clearWarnings();
+  }
+
+  @Override
+  public Map<String, Class<?>> getTypeMap() throws SQLException {
+    return connection.getTypeMap();
+  }
+
+  @Override
+  public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+    connection.setTypeMap(map);
+  }
+
+  @Override
+  public void setHoldability(int holdability) throws SQLException {
+    connection.setHoldability(holdability);
+  }
+
+  @Override
+  public int getHoldability() throws SQLException {
+    return connection.getHoldability();
+  }
+
+  @Override
+  public Savepoint setSavepoint() throws SQLException {
+    return connection.setSavepoint();
+  }
+
+  @Override
+  public Savepoint setSavepoint(String name) throws SQLException {
+    return connection.setSavepoint(name);
+  }
+
+  @Override
+  public void rollback(Savepoint savepoint) throws SQLException {
+    connection.rollback(savepoint);
+  }
+
+  @Override
+  public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+    connection.releaseSavepoint(savepoint);
+  }
+
+  @Override
+  public Clob createClob() throws SQLException {
+    return connection.createClob();
+  }
+
+  @Override
+  public Blob createBlob() throws SQLException {
+    return connection.createBlob();
+  }
+
+  @Override
+  public NClob createNClob() throws SQLException {
+    return connection.createNClob();
+  }
+
+  @Override
+  public SQLXML createSQLXML() throws SQLException {
+    return connection.createSQLXML();
+  }
+
+  @Override
+  public boolean isValid(int timeout) throws SQLException {
+    return connection.isValid(timeout);
+  }
+
+  @Override
+  public void setClientInfo(String name, String value) throws SQLClientInfoException {
+    connection.setClientInfo(name, value);
+  }
+
+  @Override
+  public void setClientInfo(Properties properties) throws SQLClientInfoException {
+    connection.setClientInfo(properties);
+  }
+
+  @Override
+  public String getClientInfo(String name) throws SQLException {
+    return connection.getClientInfo(name);
+  }
+
+  @Override
+  public Properties getClientInfo() throws SQLException {
+    return connection.getClientInfo();
+  }
+
+  @Override
+  public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+    return connection.createArrayOf(typeName, elements);
+  }
+
+  @Override
+  public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+    return connection.createStruct(typeName, attributes);
+  }
+
+  @Override
+  public void setSchema(String schema) throws SQLException {
+    connection.setSchema(schema);
+  }
+
+  @Override
+  public String getSchema() throws SQLException {
+    return connection.getSchema();
+  }
+
+  @Override
+  public void abort(Executor executor) throws SQLException {
+    connection.abort(executor);
+  }
+
+  @Override
+  public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+    connection.setNetworkTimeout(executor, milliseconds);
+  }
+
+  @Override
+  public int getNetworkTimeout() throws SQLException {
+    return connection.getNetworkTimeout();
+  }
+
+  @Override
+  public void beginRequest() throws SQLException {
+    connection.beginRequest();
+  }
+
+  @Override
+  public void endRequest() throws SQLException {
+    connection.endRequest();
+  }
+
+  @Override
+  public boolean setShardingKeyIfValid(ShardingKey shardingKey, ShardingKey superShardingKey, int timeout)
+      throws SQLException {
+    return connection.setShardingKeyIfValid(shardingKey, superShardingKey, timeout);
+  }
+
+  @Override
+  public boolean setShardingKeyIfValid(ShardingKey shardingKey, int timeout) throws SQLException {
+    return connection.setShardingKeyIfValid(shardingKey, timeout);
+  }
+
+  @Override
+  public void setShardingKey(ShardingKey shardingKey, ShardingKey superShardingKey) throws SQLException {
+    connection.setShardingKey(shardingKey, superShardingKey);
+  }
+
+  @Override
+  public void setShardingKey(ShardingKey shardingKey) throws SQLException {
+    connection.setShardingKey(shardingKey);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    return connection.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return connection.isWrapperFor(iface);
+  }
+
 }
@@ -0,0 +1,358 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.jdbc;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.executor.metrics.StatementMetrics;
+import org.apache.ibatis.jfr.MyBatisEvents;
+import org.apache.ibatis.jfr.ResultMappingEvent;
+import org.apache.ibatis.jfr.StatementExecuteEvent;
+import org.apache.ibatis.jfr.StatementPrepareEvent;
+import org.apache.ibatis.logging.Log;
+
+/**
+ * 语句执行计时，为慢查询日志、语句执行指标和JFR事件提供数据。每个被包装的语句持有一个实例并在多次执行间复用。
+ * <p>
+ * 第一次执行从创建语句时开始计时，之后的每次执行从调用execute时开始计时；执行结束于更新语句返回、
+ * 结果集的next()返回false或结果集被关闭。耗时超过阈值时，以WARN级别输出SQL、绑定的参数和行数。
+ * 只启用慢查询日志时，每次执行只多调用两次{@link System#nanoTime()}，绑定参数时只在语句包装对象中保存参数的引用
+ * （基本类型的值不装箱），参数不复制，只有超过阈值时才格式化；启用执行指标时，
+ * 还会记录准备语句和execute返回的时间，把耗时分为准备、执行和读取三段。启用了JFR的语句事件时，
+ * 同样的三段分别提交为准备、执行和结果映射事件。
+ * </p>
+ *
+ * @see org.apache.ibatis.session.Configuration#setSlowQueryThreshold(long)
+ * @see StatementMetrics
+ * @see MyBatisEvents
+ */
+final class ExecutionTimer {
+
+    /** 语句的日志对象 */
+    private final Log log;
+    /** 语句ID，未知时为null */
+    private final String statementId;
+    /** 慢查询阈值，单位纳秒，0表示不输出慢查询日志 */
+    private final long slowQueryThresholdNanos;
+    /** 语句的执行指标，为null时不记录 */
+    private final StatementMetrics metrics;
+    /** 当前执行的SQL语句 */
+    private String sql;
+    /** 当前执行的开始时间，第一次执行为创建语句的时间，0表示还没有开始计时 */
+    private long startNanos;
+    /** 调用execute的时间 */
+    private long executeNanos;
+    /** execute返回结果集的时间 */
+    private long executedNanos;
+    /** 当前执行是否已经返回结果集，正在读取 */
+    private boolean fetching;
+    /** 正在进行的JFR事件，未启用时为null */
+    private StatementPrepareEvent prepareEvent;
+    private StatementExecuteEvent executeEvent;
+    private ResultMappingEvent mappingEvent;
+    /** 是否有已经执行、尚未结束的执行 */
+    private boolean executing;
+    /** 记录了当前执行绑定的参数的语句包装对象，没有参数或批量执行时为null */
+    private BaseJdbcLogger parameters;
+    /** 参数在执行结束前被重新绑定时复制的参数值 */
+    private Object[] detachedParameters;
+    /** 当前执行是否为批量执行，批量执行不输出参数 */
+    private boolean batch;
+
+    /**
+     * 构造函数，从创建语句时开始计时
+     *
+     * @param log         语句的日志对象
+     * @param statementId             语句ID，未知时为null
+     * @param slowQueryThresholdNanos 慢查询阈值，单位纳秒，0表示不输出慢查询日志
+     * @param metrics                 语句的执行指标，为null时不记录
+     * @param sql                     SQL语句，普通Statement为null，在执行时设置
+     * @param startNanos              创建语句的时间
+     */
+    ExecutionTimer(Log log, String statementId, long slowQueryThresholdNanos, StatementMetrics metrics, String sql,
+            long startNanos) {
+        this.log = log;
+        this.statementId = statementId;
+        this.slowQueryThresholdNanos = slowQueryThresholdNanos;
+        this.metrics = metrics;
+        this.sql = sql;
+        this.startNanos = startNanos;
+        this.prepareEvent = MyBatisEvents.beginPrepare();
+    }
+
+    /**
+     * 判断是否输出慢查询日志，只有输出时才需要记录参数
+     *
+     * @return 设置了慢查询阈值时返回true
+     */
+    boolean isSlowQueryLogEnabled() {
+        return slowQueryThresholdNanos > 0;
+    }
+
+    /**
+     * 语句创建完成，记录准备语句的耗时
+     */
+    void prepared() {
+        if (metrics != null) {
+            metrics.recordPrepare(System.nanoTime() - startNanos);
+        }
+        if (prepareEvent != null) {
+            MyBatisEvents.commitPrepare(prepareEvent, statementId, sql);
+            prepareEvent = null;
+        }
+    }
+
+    /**
+     * 开始一次执行。上一次执行的结果集还没有读完时先结束上一次执行
+     *
+     * @param sql        SQL语句，为null时沿用创建语句时的SQL
+     * @param parameters 记录了参数的语句包装对象，在执行结束前保留参数，为null时不输出参数
+     */
+    void start(String sql, BaseJdbcLogger parameters) {
+        begin();
+        if (sql != null) {
+            this.sql = sql;
+        }
+        this.parameters = parameters;
+        batch = false;
+    }
+
+    /**
+     * 参数在执行结束前被重新绑定，例如结果集没有读完就设置了下一次执行的参数，此时才复制当前的参数值
+     */
+    void detachParameters() {
+        if (executing && parameters != null) {
+            detachedParameters = parameters.snapshotParameterValues();
+            parameters = null;
+        }
+    }
+
+    /**
+     * 开始或继续一次批量执行，批量执行不输出参数
+     *
+     * @param sql SQL语句，为null时沿用创建语句时的SQL；批量中有多条SQL时输出第一条
+     */
+    void startBatch(String sql) {
+        if (executing && batch) {
+            return;
+        }
+        begin();
+        if (sql != null) {
+            this.sql = sql;
+        }
+        parameters = null;
+        batch = true;
+    }
+
+    private void begin() {
+        if (executing) {
+            finish(-1);
+        }
+        detachedParameters = null;
+        long now = System.nanoTime();
+        if (startNanos == 0) {
+            startNanos = now;
+        }
+        executeNanos = now;
+        fetching = false;
+        executing = true;
+        executeEvent = MyBatisEvents.beginExecute();
+    }
+
+    /**
+     * execute返回了结果集，之后的时间计入读取
+     */
+    void executed() {
+        if (!executing || fetching) {
+            return;
+        }
+        fetching = true;
+        if (metrics != null) {
+            executedNanos = System.nanoTime();
+        }
+        if (executeEvent != null) {
+            MyBatisEvents.commitExecute(executeEvent, statementId, sql, -1, batch);
+            executeEvent = null;
+        }
+        mappingEvent = MyBatisEvents.beginMapping();
+    }
+
+    /**
+     * 结束当前执行，耗时超过阈值时输出日志。没有正在计时的执行时什么都不做
+     *
+     * @param rows 读取或更新的行数，-1表示未知
+     */
+    void finish(long rows) {
+        if (!executing) {
+            return;
+        }
+        long start = startNanos;
+        executing = false;
+        startNanos = 0;
+        long now = System.nanoTime();
+        long elapsed = now - start;
+        if (metrics != null) {
+            if (fetching) {
+                metrics.recordExecution(executedNanos - executeNanos, now - executedNanos, elapsed, rows);
+            } else {
+                metrics.recordExecution(now - executeNanos, 0, elapsed, rows);
+            }
+        }
+        if (executeEvent != null) {
+            MyBatisEvents.commitExecute(executeEvent, statementId, sql, rows, batch);
+            executeEvent = null;
+        }
+        if (mappingEvent != null) {
+            MyBatisEvents.commitMapping(mappingEvent, statementId, sql, rows);
+            mappingEvent = null;
+        }
+        if (slowQueryThresholdNanos > 0 && elapsed >= slowQueryThresholdNanos) {
+            log.warn(message(elapsed, rows));
+        }
+        parameters = null;
+        detachedParameters = null;
+    }
+
+    /**
+     * 当前执行失败，失败的执行不输出慢查询日志，也不提交JFR事件
+     *
+     * @param e 执行失败的异常
+     * @return 传入的异常
+     */
+    SQLException fail(SQLException e) {
+        if (executing) {
+            executing = false;
+            startNanos = 0;
+            executeEvent = null;
+            mappingEvent = null;
+            parameters = null;
+            detachedParameters = null;
+            if (metrics != null) {
+                metrics.recordError();
+            }
+        }
+        return e;
+    }
+
+    /**
+     * 开始一次非批量执行，timer为null时什么都不做
+     *
+     * @param timer 执行计时，为null时不计时
+     * @param sql   SQL语句，为null时沿用创建语句时的SQL
+     */
+    static void start(ExecutionTimer timer, String sql) {
+        if (timer != null) {
+            timer.start(sql, null);
+        }
+    }
+
+    /**
+     * 结束更新语句的计时
+     *
+     * @param timer 执行计时，为null时不计时
+     * @param rows  更新的行数
+     * @return 更新的行数
+     */
+    static int finishUpdate(ExecutionTimer timer, int rows) {
+        if (timer != null) {
+            timer.finish(rows);
+        }
+        return rows;
+    }
+
+    static long finishUpdate(ExecutionTimer timer, long rows) {
+        if (timer != null) {
+            timer.finish(rows);
+        }
+        return rows;
+    }
+
+    /**
+     * 没有返回结果集时结束计时，有结果集时在结果集读完或关闭时结束
+     *
+     * @param timer        执行计时，为null时不计时
+     * @param hasResultSet 是否返回了结果集
+     * @return 是否返回了结果集
+     */
+    static boolean finishExecute(ExecutionTimer timer, boolean hasResultSet) {
+        if (timer != null) {
+            if (hasResultSet) {
+                timer.executed();
+            } else {
+                timer.finish(-1);
+            }
+        }
+        return hasResultSet;
+    }
+
+    /**
+     * 结束批量执行的计时，行数为各条语句更新行数之和
+     *
+     * @param timer  执行计时，为null时不计时
+     * @param counts 各条语句的更新行数
+     */
+    static void finishBatch(ExecutionTimer timer, int[] counts) {
+        if (timer != null) {
+            long rows = 0;
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+            timer.finish(rows);
+        }
+    }
+
+    static void finishBatch(ExecutionTimer timer, long[] counts) {
+        if (timer != null) {
+            long rows = 0;
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+            timer.finish(rows);
+        }
+    }
+
+    /**
+     * 记录执行失败
+     *
+     * @param timer 执行计时，为null时不计时
+     * @param e     执行失败的异常
+     * @return 传入的异常
+     */
+    static SQLException fail(ExecutionTimer timer, SQLException e) {
+        return timer == null ? e : timer.fail(e);
+    }
+
+    private String message(long elapsedNanos, long rows) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append("Slow SQL (").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms");
+        if (rows >= 0) {
+            sb.append(", ").append(rows).append(rows == 1 ? " row" : " rows");
+        }
+        sb.append("): ").append(sql == null ? "" : SqlSourceBuilder.removeExtraWhitespaces(sql));
+        if (detachedParameters != null) {
+            if (detachedParameters.length > 0) {
+                sb.append(" Parameters: ").append(BaseJdbcLogger.formatParameterValues(detachedParameters));
+            }
+        } else if (parameters != null && parameters.getParameterCount() > 0) {
+            sb.append(" Parameters: ").append(parameters.getParameterValueString());
+        } else if (batch) {
+            sb.append(" (batch)");
+        }
+        return sb.toString();
+    }
+}
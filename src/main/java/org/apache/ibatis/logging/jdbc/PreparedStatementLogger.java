@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2025 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,71 +15,57 @@
  */
 package org.apache.ibatis.logging.jdbc;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
 import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
 import java.sql.PreparedStatement;
+import java.sql.Ref;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
 
 import org.apache.ibatis.logging.Log;
-import org.apache.ibatis.reflection.ExceptionUtil;
 
 /**
- * PreparedStatement proxy to add logging.
+ * PreparedStatement wrapper to add logging.
+ * <p>
+ * Implements {@link PreparedStatement} and {@link CallableStatement} directly instead of through a
+ * {@link java.lang.reflect.Proxy}, so binding a parameter costs a plain call, plus recording the value when debug
+ * logging or the slow query log is enabled. Recording stores a reference to the value, or the raw bits of a primitive
+ * value, in arrays that are reused across executions; nothing is boxed, copied or formatted unless a log line is
+ * written. The {@link CallableStatement} methods fail with a
+ * {@link ClassCastException} if the wrapped statement is not callable.
  *
  * @author Clinton Begin
  * @author Eduardo Macarron
  */
-public final class PreparedStatementLogger extends BaseJdbcLogger implements InvocationHandler {
+public final class PreparedStatementLogger extends BaseJdbcLogger implements CallableStatement {
 
   private final PreparedStatement statement;
+  private final ExecutionTimer timer;
 
-  private PreparedStatementLogger(PreparedStatement stmt, Log statementLog, int queryStack) {
-    super(statementLog, queryStack);
+  private PreparedStatementLogger(PreparedStatement stmt, Log statementLog, int queryStack, boolean muted,
+      ExecutionTimer timer, AsyncJdbcLogDispatcher dispatcher) {
+    super(statementLog, queryStack, muted, dispatcher);
     this.statement = stmt;
-  }
-
-  @Override
-  public Object invoke(Object proxy, Method method, Object[] params) throws Throwable {
-    try {
-      if (Object.class.equals(method.getDeclaringClass())) {
-        return method.invoke(this, params);
-      }
-      if (EXECUTE_METHODS.contains(method.getName())) {
-        if (isDebugEnabled()) {
-          debug("Parameters: " + getParameterValueString(), true);
-        }
-        clearColumnInfo();
-        if ("executeQuery".equals(method.getName())) {
-          ResultSet rs = (ResultSet) method.invoke(statement, params);
-          return rs == null ? null : ResultSetLogger.newInstance(rs, statementLog, queryStack);
-        } else {
-          return method.invoke(statement, params);
-        }
-      }
-      if (SET_METHODS.contains(method.getName())) {
-        if ("setNull".equals(method.getName())) {
-          setColumn(params[0], null);
-        } else {
-          setColumn(params[0], params[1]);
-        }
-        return method.invoke(statement, params);
-      } else if ("getResultSet".equals(method.getName())) {
-        ResultSet rs = (ResultSet) method.invoke(statement, params);
-        return rs == null ? null : ResultSetLogger.newInstance(rs, statementLog, queryStack);
-      } else if ("getUpdateCount".equals(method.getName())) {
-        int updateCount = (Integer) method.invoke(statement, params);
-        if (updateCount != -1) {
-          debug("   Updates: " + updateCount, false);
-        }
-        return updateCount;
-      } else {
-        return method.invoke(statement, params);
-      }
-    } catch (Throwable t) {
-      throw ExceptionUtil.unwrapThrowable(t);
-    }
+    this.timer = timer;
   }
 
   /**
@@ -92,13 +78,49 @@ public final class PreparedStatementLogger extends BaseJdbcLogger implements Inv
    * @param queryStack
    *          - the query stack
    *
-   * @return - the proxy
+   * @return - the statement with logging
    */
   public static PreparedStatement newInstance(PreparedStatement stmt, Log statementLog, int queryStack) {
-    InvocationHandler handler = new PreparedStatementLogger(stmt, statementLog, queryStack);
-    ClassLoader cl = PreparedStatement.class.getClassLoader();
-    return (PreparedStatement) Proxy.newProxyInstance(cl,
-        new Class[] { PreparedStatement.class, CallableStatement.class }, handler);
+    return new PreparedStatementLogger(stmt, statementLog, queryStack, false, null, null);
+  }
+
+  /**
+   * Creates a logging version of a CallableStatement.
+   *
+   * @param stmt
+   *          - the statement
+   * @param statementLog
+   *          - the statement log
+   * @param queryStack
+   *          - the query stack
+   *
+   * @return - the statement with logging
+   */
+  public static CallableStatement newInstance(CallableStatement stmt, Log statementLog, int queryStack) {
+    return new PreparedStatementLogger(stmt, statementLog, queryStack, false, null, null);
+  }
+
+  /**
+   * Creates a statement that may only time its executions, for the slow query log and the statement metrics.
+   *
+   * @param stmt
+   *          - the statement, which must be a CallableStatement to use the CallableStatement methods
+   * @param statementLog
+   *          - the statement log
+   * @param queryStack
+   *          - the query stack
+   * @param muted
+   *          - whether debug and trace logging is off for this statement
+   * @param timer
+   *          - the execution timer, or null if executions are not timed
+   * @param dispatcher
+   *          - the asynchronous log dispatcher, or null to log synchronously
+   *
+   * @return - the statement with logging
+   */
+  static PreparedStatementLogger newInstance(PreparedStatement stmt, Log statementLog, int queryStack, boolean muted,
+      ExecutionTimer timer, AsyncJdbcLogDispatcher dispatcher) {
+    return new PreparedStatementLogger(stmt, statementLog, queryStack, muted, timer, dispatcher);
   }
 
   /**
@@ -110,4 +132,1635 @@ public final class PreparedStatementLogger extends BaseJdbcLogger implements Inv
     return statement;
   }
 
+  private CallableStatement callable() {
+    return (CallableStatement) statement;
+  }
+
+  /**
+   * Parameter values are recorded for the debug log and for the slow query log, but not when the statement is only
+   * timed for its metrics. The slow query log reads them when the execution ends, so they are only cleared when the
+   * next execution binds its first parameter.
+   */
+  private boolean isRecording() {
+    return isDebugEnabled() || timer != null && timer.isSlowQueryLogEnabled();
+  }
+
+  private void logParameters() {
+    debugParameters("Parameters: ", true);
+    startTiming();
+  }
+
+  private void logBatch() {
+    debugParameters("Parameters: ", true);
+    if (timer != null) {
+      timer.startBatch(null);
+    }
+    clearColumnInfo();
+  }
+
+  private void startTiming() {
+    if (timer != null && timer.isSlowQueryLogEnabled()) {
+      timer.start(null, this);
+      clearColumnInfoLater();
+    } else {
+      ExecutionTimer.start(timer, null);
+      clearColumnInfo();
+    }
+  }
+
+  @Override
+  void columnsReused() {
+    if (timer != null) {
+      timer.detachParameters();
+    }
+  }
+
+  private ResultSet logResultSet(ResultSet rs) {
+    if (rs == null) {
+      if (timer != null) {
+        timer.finish(-1);
+      }
+      return null;
+    }
+    if (timer != null) {
+      timer.executed();
+    }
+    return ResultSetLogger.newInstance(rs, statementLog, queryStack, isMuted(), timer, getAsyncDispatcher());
+  }
+
+  @Override
+  public ResultSet executeQuery() throws SQLException {
+    logParameters();
+    try {
+      return logResultSet(statement.executeQuery());
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public int executeUpdate() throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeUpdate());
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public boolean execute() throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishExecute(timer, statement.execute());
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    logBatch();
+    statement.addBatch();
+  }
+
+  @Override
+  public ResultSet executeQuery(String sql) throws SQLException {
+    logParameters();
+    try {
+      return logResultSet(statement.executeQuery(sql));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public int executeUpdate(String sql) throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeUpdate(sql));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeUpdate(sql, autoGeneratedKeys));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeUpdate(sql, columnIndexes));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeUpdate(sql, columnNames));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public boolean execute(String sql) throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishExecute(timer, statement.execute(sql));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishExecute(timer, statement.execute(sql, autoGeneratedKeys));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishExecute(timer, statement.execute(sql, columnIndexes));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public boolean execute(String sql, String[] columnNames) throws SQLException {
+    logParameters();
+    try {
+      return ExecutionTimer.finishExecute(timer, statement.execute(sql, columnNames));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public void addBatch(String sql) throws SQLException {
+    logBatch();
+    statement.addBatch(sql);
+  }
+
+  @Override
+  public ResultSet getResultSet() throws SQLException {
+    return logResultSet(statement.getResultSet());
+  }
+
+  @Override
+  public int getUpdateCount() throws SQLException {
+    int updateCount = statement.getUpdateCount();
+    if (updateCount != -1) {
+      debug("   Updates: " + updateCount, false);
+    }
+    return updateCount;
+  }
+
+  @Override
+  public long executeLargeUpdate() throws SQLException {
+    startTiming();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate());
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql) throws SQLException {
+    startTiming();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate(sql));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+    startTiming();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate(sql, autoGeneratedKeys));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+    startTiming();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate(sql, columnIndexes));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+    startTiming();
+    try {
+      return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate(sql, columnNames));
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    try {
+      int[] counts = statement.executeBatch();
+      ExecutionTimer.finishBatch(timer, counts);
+      return counts;
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public long[] executeLargeBatch() throws SQLException {
+    try {
+      long[] counts = statement.executeLargeBatch();
+      ExecutionTimer.finishBatch(timer, counts);
+      return counts;
+    } catch (SQLException e) {
+      throw ExecutionTimer.fail(timer, e);
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (timer != null) {
+      // a result set that was not read to the end finishes the execution here
+      timer.finish(-1);
+    }
+    statement.close();
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, null);
+    }
+    statement.setNull(parameterIndex, sqlType);
+  }
+
+  @Override
+  public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+    if (isRecording()) {
+      setBooleanColumn(parameterIndex, x);
+    }
+    statement.setBoolean(parameterIndex, x);
+  }
+
+  @Override
+  public void setByte(int parameterIndex, byte x) throws SQLException {
+    if (isRecording()) {
+      setByteColumn(parameterIndex, x);
+    }
+    statement.setByte(parameterIndex, x);
+  }
+
+  @Override
+  public void setShort(int parameterIndex, short x) throws SQLException {
+    if (isRecording()) {
+      setShortColumn(parameterIndex, x);
+    }
+    statement.setShort(parameterIndex, x);
+  }
+
+  @Override
+  public void setInt(int parameterIndex, int x) throws SQLException {
+    if (isRecording()) {
+      setIntColumn(parameterIndex, x);
+    }
+    statement.setInt(parameterIndex, x);
+  }
+
+  @Override
+  public void setLong(int parameterIndex, long x) throws SQLException {
+    if (isRecording()) {
+      setLongColumn(parameterIndex, x);
+    }
+    statement.setLong(parameterIndex, x);
+  }
+
+  @Override
+  public void setFloat(int parameterIndex, float x) throws SQLException {
+    if (isRecording()) {
+      setFloatColumn(parameterIndex, x);
+    }
+    statement.setFloat(parameterIndex, x);
+  }
+
+  @Override
+  public void setDouble(int parameterIndex, double x) throws SQLException {
+    if (isRecording()) {
+      setDoubleColumn(parameterIndex, x);
+    }
+    statement.setDouble(parameterIndex, x);
+  }
+
+  @Override
+  public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setBigDecimal(parameterIndex, x);
+  }
+
+  @Override
+  public void setString(int parameterIndex, String x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setString(parameterIndex, x);
+  }
+
+  @Override
+  public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setBytes(parameterIndex, x);
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setDate(parameterIndex, x);
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setTime(parameterIndex, x);
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setTimestamp(parameterIndex, x);
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setAsciiStream(parameterIndex, x, length);
+  }
+
+  @Deprecated
+  @Override
+  public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setUnicodeStream(parameterIndex, x, length);
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setBinaryStream(parameterIndex, x, length);
+  }
+
+  @Override
+  public void clearParameters() throws SQLException {
+    statement.clearParameters();
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setObject(parameterIndex, x, targetSqlType);
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setObject(parameterIndex, x);
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, reader);
+    }
+    statement.setCharacterStream(parameterIndex, reader, length);
+  }
+
+  @Override
+  public void setRef(int parameterIndex, Ref x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setRef(parameterIndex, x);
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, Blob x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setBlob(parameterIndex, x);
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Clob x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setClob(parameterIndex, x);
+  }
+
+  @Override
+  public void setArray(int parameterIndex, Array x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setArray(parameterIndex, x);
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() throws SQLException {
+    return statement.getMetaData();
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setDate(parameterIndex, x, cal);
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setTime(parameterIndex, x, cal);
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setTimestamp(parameterIndex, x, cal);
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, null);
+    }
+    statement.setNull(parameterIndex, sqlType, typeName);
+  }
+
+  @Override
+  public void setURL(int parameterIndex, URL x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setURL(parameterIndex, x);
+  }
+
+  @Override
+  public ParameterMetaData getParameterMetaData() throws SQLException {
+    return statement.getParameterMetaData();
+  }
+
+  @Override
+  public void setRowId(int parameterIndex, RowId x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setRowId(parameterIndex, x);
+  }
+
+  @Override
+  public void setNString(int parameterIndex, String value) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, value);
+    }
+    statement.setNString(parameterIndex, value);
+  }
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, value);
+    }
+    statement.setNCharacterStream(parameterIndex, value, length);
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, NClob value) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, value);
+    }
+    statement.setNClob(parameterIndex, value);
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, reader);
+    }
+    statement.setClob(parameterIndex, reader, length);
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, inputStream);
+    }
+    statement.setBlob(parameterIndex, inputStream, length);
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, reader);
+    }
+    statement.setNClob(parameterIndex, reader, length);
+  }
+
+  @Override
+  public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, xmlObject);
+    }
+    statement.setSQLXML(parameterIndex, xmlObject);
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setAsciiStream(parameterIndex, x, length);
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setBinaryStream(parameterIndex, x, length);
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, reader);
+    }
+    statement.setCharacterStream(parameterIndex, reader, length);
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setAsciiStream(parameterIndex, x);
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setBinaryStream(parameterIndex, x);
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, reader);
+    }
+    statement.setCharacterStream(parameterIndex, reader);
+  }
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, value);
+    }
+    statement.setNCharacterStream(parameterIndex, value);
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Reader reader) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, reader);
+    }
+    statement.setClob(parameterIndex, reader);
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, inputStream);
+    }
+    statement.setBlob(parameterIndex, inputStream);
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, reader);
+    }
+    statement.setNClob(parameterIndex, reader);
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterIndex, x);
+    }
+    statement.setObject(parameterIndex, x, targetSqlType);
+  }
+
+  @Override
+  public int getMaxFieldSize() throws SQLException {
+    return statement.getMaxFieldSize();
+  }
+
+  @Override
+  public void setMaxFieldSize(int max) throws SQLException {
+    statement.setMaxFieldSize(max);
+  }
+
+  @Override
+  public int getMaxRows() throws SQLException {
+    return statement.getMaxRows();
+  }
+
+  @Override
+  public void setMaxRows(int max) throws SQLException {
+    statement.setMaxRows(max);
+  }
+
+  @Override
+  public void setEscapeProcessing(boolean enable) throws SQLException {
+    statement.setEscapeProcessing(enable);
+  }
+
+  @Override
+  public int getQueryTimeout() throws SQLException {
+    return statement.getQueryTimeout();
+  }
+
+  @Override
+  public void setQueryTimeout(int seconds) throws SQLException {
+    statement.setQueryTimeout(seconds);
+  }
+
+  @Override
+  public void cancel() throws SQLException {
+    statement.cancel();
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    return statement.getWarnings();
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {
+    statement.clearWarnings();
+  }
+
+  @Override
+  public void setCursorName(String name) throws SQLException {
+    statement.setCursorName(name);
+  }
+
+  @Override
+  public boolean getMoreResults() throws SQLException {
+    return statement.getMoreResults();
+  }
+
+  @Override
+  public void setFetchDirection(int direction) throws SQLException {
+    statement.setFetchDirection(direction);
+  }
+
+  @Override
+  public int getFetchDirection() throws SQLException {
+    return statement.getFetchDirection();
+  }
+
+  @Override
+  public void setFetchSize(int rows) throws SQLException {
+    statement.setFetchSize(rows);
+  }
+
+  @Override
+  public int getFetchSize() throws SQLException {
+    return statement.getFetchSize();
+  }
+
+  @Override
+  public int getResultSetConcurrency() throws SQLException {
+    return statement.getResultSetConcurrency();
+  }
+
+  @Override
+  public int getResultSetType() throws SQLException {
+    return statement.getResultSetType();
+  }
+
+  @Override
+  public void clearBatch() throws SQLException {
+    statement.clearBatch();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return statement.getConnection();
+  }
+
+  @Override
+  public boolean getMoreResults(int current) throws SQLException {
+    return statement.getMoreResults(current);
+  }
+
+  @Override
+  public ResultSet getGeneratedKeys() throws SQLException {
+    return statement.getGeneratedKeys();
+  }
+
+  @Override
+  public int getResultSetHoldability() throws SQLException {
+    return statement.getResultSetHoldability();
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    return statement.isClosed();
+  }
+
+  @Override
+  public void setPoolable(boolean poolable) throws SQLException {
+    statement.setPoolable(poolable);
+  }
+
+  @Override
+  public boolean isPoolable() throws SQLException {
+    return statement.isPoolable();
+  }
+
+  @Override
+  public void closeOnCompletion() throws SQLException {
+    statement.closeOnCompletion();
+  }
+
+  @Override
+  public boolean isCloseOnCompletion() throws SQLException {
+    return statement.isCloseOnCompletion();
+  }
+
+  @Override
+  public long getLargeUpdateCount() throws SQLException {
+    return statement.getLargeUpdateCount();
+  }
+
+  @Override
+  public void setLargeMaxRows(long max) throws SQLException {
+    statement.setLargeMaxRows(max);
+  }
+
+  @Override
+  public long getLargeMaxRows() throws SQLException {
+    return statement.getLargeMaxRows();
+  }
+
+  @Override
+  public String enquoteLiteral(String val) throws SQLException {
+    return statement.enquoteLiteral(val);
+  }
+
+  @Override
+  public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+    return statement.enquoteIdentifier(identifier, alwaysQuote);
+  }
+
+  @Override
+  public boolean isSimpleIdentifier(String identifier) throws SQLException {
+    return statement.isSimpleIdentifier(identifier);
+  }
+
+  @Override
+  public String enquoteNCharLiteral(String val) throws SQLException {
+    return statement.enquoteNCharLiteral(val);
+  }
+
+  @Override
+  public void registerOutParameter(int parameterIndex, int sqlType) throws SQLException {
+    callable().registerOutParameter(parameterIndex, sqlType);
+  }
+
+  @Override
+  public void registerOutParameter(int parameterIndex, int sqlType, int scale) throws SQLException {
+    callable().registerOutParameter(parameterIndex, sqlType, scale);
+  }
+
+  @Override
+  public boolean wasNull() throws SQLException {
+    return callable().wasNull();
+  }
+
+  @Override
+  public String getString(int parameterIndex) throws SQLException {
+    return callable().getString(parameterIndex);
+  }
+
+  @Override
+  public boolean getBoolean(int parameterIndex) throws SQLException {
+    return callable().getBoolean(parameterIndex);
+  }
+
+  @Override
+  public byte getByte(int parameterIndex) throws SQLException {
+    return callable().getByte(parameterIndex);
+  }
+
+  @Override
+  public short getShort(int parameterIndex) throws SQLException {
+    return callable().getShort(parameterIndex);
+  }
+
+  @Override
+  public int getInt(int parameterIndex) throws SQLException {
+    return callable().getInt(parameterIndex);
+  }
+
+  @Override
+  public long getLong(int parameterIndex) throws SQLException {
+    return callable().getLong(parameterIndex);
+  }
+
+  @Override
+  public float getFloat(int parameterIndex) throws SQLException {
+    return callable().getFloat(parameterIndex);
+  }
+
+  @Override
+  public double getDouble(int parameterIndex) throws SQLException {
+    return callable().getDouble(parameterIndex);
+  }
+
+  @Deprecated
+  @Override
+  public BigDecimal getBigDecimal(int parameterIndex, int scale) throws SQLException {
+    return callable().getBigDecimal(parameterIndex, scale);
+  }
+
+  @Override
+  public byte[] getBytes(int parameterIndex) throws SQLException {
+    return callable().getBytes(parameterIndex);
+  }
+
+  @Override
+  public Date getDate(int parameterIndex) throws SQLException {
+    return callable().getDate(parameterIndex);
+  }
+
+  @Override
+  public Time getTime(int parameterIndex) throws SQLException {
+    return callable().getTime(parameterIndex);
+  }
+
+  @Override
+  public Timestamp getTimestamp(int parameterIndex) throws SQLException {
+    return callable().getTimestamp(parameterIndex);
+  }
+
+  @Override
+  public Object getObject(int parameterIndex) throws SQLException {
+    return callable().getObject(parameterIndex);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(int parameterIndex) throws SQLException {
+    return callable().getBigDecimal(parameterIndex);
+  }
+
+  @Override
+  public Object getObject(int parameterIndex, Map<String, Class<?>> map) throws SQLException {
+    return callable().getObject(parameterIndex, map);
+  }
+
+  @Override
+  public Ref getRef(int parameterIndex) throws SQLException {
+    return callable().getRef(parameterIndex);
+  }
+
+  @Override
+  public Blob getBlob(int parameterIndex) throws SQLException {
+    return callable().getBlob(parameterIndex);
+  }
+
+  @Override
+  public Clob getClob(int parameterIndex) throws SQLException {
+    return callable().getClob(parameterIndex);
+  }
+
+  @Override
+  public Array getArray(int parameterIndex) throws SQLException {
+    return callable().getArray(parameterIndex);
+  }
+
+  @Override
+  public Date getDate(int parameterIndex, Calendar cal) throws SQLException {
+    return callable().getDate(parameterIndex, cal);
+  }
+
+  @Override
+  public Time getTime(int parameterIndex, Calendar cal) throws SQLException {
+    return callable().getTime(parameterIndex, cal);
+  }
+
+  @Override
+  public Timestamp getTimestamp(int parameterIndex, Calendar cal) throws SQLException {
+    return callable().getTimestamp(parameterIndex, cal);
+  }
+
+  @Override
+  public void registerOutParameter(int parameterIndex, int sqlType, String typeName) throws SQLException {
+    callable().registerOutParameter(parameterIndex, sqlType, typeName);
+  }
+
+  @Override
+  public void registerOutParameter(String parameterName, int sqlType) throws SQLException {
+    callable().registerOutParameter(parameterName, sqlType);
+  }
+
+  @Override
+  public void registerOutParameter(String parameterName, int sqlType, int scale) throws SQLException {
+    callable().registerOutParameter(parameterName, sqlType, scale);
+  }
+
+  @Override
+  public void registerOutParameter(String parameterName, int sqlType, String typeName) throws SQLException {
+    callable().registerOutParameter(parameterName, sqlType, typeName);
+  }
+
+  @Override
+  public URL getURL(int parameterIndex) throws SQLException {
+    return callable().getURL(parameterIndex);
+  }
+
+  @Override
+  public void setURL(String parameterName, URL val) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, val);
+    }
+    callable().setURL(parameterName, val);
+  }
+
+  @Override
+  public void setNull(String parameterName, int sqlType) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, null);
+    }
+    callable().setNull(parameterName, sqlType);
+  }
+
+  @Override
+  public void setBoolean(String parameterName, boolean x) throws SQLException {
+    if (isRecording()) {
+      setBooleanColumn(parameterName, x);
+    }
+    callable().setBoolean(parameterName, x);
+  }
+
+  @Override
+  public void setByte(String parameterName, byte x) throws SQLException {
+    if (isRecording()) {
+      setByteColumn(parameterName, x);
+    }
+    callable().setByte(parameterName, x);
+  }
+
+  @Override
+  public void setShort(String parameterName, short x) throws SQLException {
+    if (isRecording()) {
+      setShortColumn(parameterName, x);
+    }
+    callable().setShort(parameterName, x);
+  }
+
+  @Override
+  public void setInt(String parameterName, int x) throws SQLException {
+    if (isRecording()) {
+      setIntColumn(parameterName, x);
+    }
+    callable().setInt(parameterName, x);
+  }
+
+  @Override
+  public void setLong(String parameterName, long x) throws SQLException {
+    if (isRecording()) {
+      setLongColumn(parameterName, x);
+    }
+    callable().setLong(parameterName, x);
+  }
+
+  @Override
+  public void setFloat(String parameterName, float x) throws SQLException {
+    if (isRecording()) {
+      setFloatColumn(parameterName, x);
+    }
+    callable().setFloat(parameterName, x);
+  }
+
+  @Override
+  public void setDouble(String parameterName, double x) throws SQLException {
+    if (isRecording()) {
+      setDoubleColumn(parameterName, x);
+    }
+    callable().setDouble(parameterName, x);
+  }
+
+  @Override
+  public void setBigDecimal(String parameterName, BigDecimal x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setBigDecimal(parameterName, x);
+  }
+
+  @Override
+  public void setString(String parameterName, String x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setString(parameterName, x);
+  }
+
+  @Override
+  public void setBytes(String parameterName, byte[] x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setBytes(parameterName, x);
+  }
+
+  @Override
+  public void setDate(String parameterName, Date x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setDate(parameterName, x);
+  }
+
+  @Override
+  public void setTime(String parameterName, Time x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setTime(parameterName, x);
+  }
+
+  @Override
+  public void setTimestamp(String parameterName, Timestamp x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setTimestamp(parameterName, x);
+  }
+
+  @Override
+  public void setAsciiStream(String parameterName, InputStream x, int length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setAsciiStream(parameterName, x, length);
+  }
+
+  @Override
+  public void setBinaryStream(String parameterName, InputStream x, int length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setBinaryStream(parameterName, x, length);
+  }
+
+  @Override
+  public void setObject(String parameterName, Object x, int targetSqlType, int scale) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setObject(parameterName, x, targetSqlType, scale);
+  }
+
+  @Override
+  public void setObject(String parameterName, Object x, int targetSqlType) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setObject(parameterName, x, targetSqlType);
+  }
+
+  @Override
+  public void setObject(String parameterName, Object x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setObject(parameterName, x);
+  }
+
+  @Override
+  public void setCharacterStream(String parameterName, Reader reader, int length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, reader);
+    }
+    callable().setCharacterStream(parameterName, reader, length);
+  }
+
+  @Override
+  public void setDate(String parameterName, Date x, Calendar cal) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setDate(parameterName, x, cal);
+  }
+
+  @Override
+  public void setTime(String parameterName, Time x, Calendar cal) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setTime(parameterName, x, cal);
+  }
+
+  @Override
+  public void setTimestamp(String parameterName, Timestamp x, Calendar cal) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setTimestamp(parameterName, x, cal);
+  }
+
+  @Override
+  public void setNull(String parameterName, int sqlType, String typeName) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, null);
+    }
+    callable().setNull(parameterName, sqlType, typeName);
+  }
+
+  @Override
+  public String getString(String parameterName) throws SQLException {
+    return callable().getString(parameterName);
+  }
+
+  @Override
+  public boolean getBoolean(String parameterName) throws SQLException {
+    return callable().getBoolean(parameterName);
+  }
+
+  @Override
+  public byte getByte(String parameterName) throws SQLException {
+    return callable().getByte(parameterName);
+  }
+
+  @Override
+  public short getShort(String parameterName) throws SQLException {
+    return callable().getShort(parameterName);
+  }
+
+  @Override
+  public int getInt(String parameterName) throws SQLException {
+    return callable().getInt(parameterName);
+  }
+
+  @Override
+  public long getLong(String parameterName) throws SQLException {
+    return callable().getLong(parameterName);
+  }
+
+  @Override
+  public float getFloat(String parameterName) throws SQLException {
+    return callable().getFloat(parameterName);
+  }
+
+  @Override
+  public double getDouble(String parameterName) throws SQLException {
+    return callable().getDouble(parameterName);
+  }
+
+  @Override
+  public byte[] getBytes(String parameterName) throws SQLException {
+    return callable().getBytes(parameterName);
+  }
+
+  @Override
+  public Date getDate(String parameterName) throws SQLException {
+    return callable().getDate(parameterName);
+  }
+
+  @Override
+  public Time getTime(String parameterName) throws SQLException {
+    return callable().getTime(parameterName);
+  }
+
+  @Override
+  public Timestamp getTimestamp(String parameterName) throws SQLException {
+    return callable().getTimestamp(parameterName);
+  }
+
+  @Override
+  public Object getObject(String parameterName) throws SQLException {
+    return callable().getObject(parameterName);
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(String parameterName) throws SQLException {
+    return callable().getBigDecimal(parameterName);
+  }
+
+  @Override
+  public Object getObject(String parameterName, Map<String, Class<?>> map) throws SQLException {
+    return callable().getObject(parameterName, map);
+  }
+
+  @Override
+  public Ref getRef(String parameterName) throws SQLException {
+    return callable().getRef(parameterName);
+  }
+
+  @Override
+  public Blob getBlob(String parameterName) throws SQLException {
+    return callable().getBlob(parameterName);
+  }
+
+  @Override
+  public Clob getClob(String parameterName) throws SQLException {
+    return callable().getClob(parameterName);
+  }
+
+  @Override
+  public Array getArray(String parameterName) throws SQLException {
+    return callable().getArray(parameterName);
+  }
+
+  @Override
+  public Date getDate(String parameterName, Calendar cal) throws SQLException {
+    return callable().getDate(parameterName, cal);
+  }
+
+  @Override
+  public Time getTime(String parameterName, Calendar cal) throws SQLException {
+    return callable().getTime(parameterName, cal);
+  }
+
+  @Override
+  public Timestamp getTimestamp(String parameterName, Calendar cal) throws SQLException {
+    return callable().getTimestamp(parameterName, cal);
+  }
+
+  @Override
+  public URL getURL(String parameterName) throws SQLException {
+    return callable().getURL(parameterName);
+  }
+
+  @Override
+  public RowId getRowId(int parameterIndex) throws SQLException {
+    return callable().getRowId(parameterIndex);
+  }
+
+  @Override
+  public RowId getRowId(String parameterName) throws SQLException {
+    return callable().getRowId(parameterName);
+  }
+
+  @Override
+  public void setRowId(String parameterName, RowId x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setRowId(parameterName, x);
+  }
+
+  @Override
+  public void setNString(String parameterName, String value) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, value);
+    }
+    callable().setNString(parameterName, value);
+  }
+
+  @Override
+  public void setNCharacterStream(String parameterName, Reader value, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, value);
+    }
+    callable().setNCharacterStream(parameterName, value, length);
+  }
+
+  @Override
+  public void setNClob(String parameterName, NClob value) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, value);
+    }
+    callable().setNClob(parameterName, value);
+  }
+
+  @Override
+  public void setClob(String parameterName, Reader reader, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, reader);
+    }
+    callable().setClob(parameterName, reader, length);
+  }
+
+  @Override
+  public void setBlob(String parameterName, InputStream inputStream, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, inputStream);
+    }
+    callable().setBlob(parameterName, inputStream, length);
+  }
+
+  @Override
+  public void setNClob(String parameterName, Reader reader, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, reader);
+    }
+    callable().setNClob(parameterName, reader, length);
+  }
+
+  @Override
+  public NClob getNClob(int parameterIndex) throws SQLException {
+    return callable().getNClob(parameterIndex);
+  }
+
+  @Override
+  public NClob getNClob(String parameterName) throws SQLException {
+    return callable().getNClob(parameterName);
+  }
+
+  @Override
+  public void setSQLXML(String parameterName, SQLXML xmlObject) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, xmlObject);
+    }
+    callable().setSQLXML(parameterName, xmlObject);
+  }
+
+  @Override
+  public SQLXML getSQLXML(int parameterIndex) throws SQLException {
+    return callable().getSQLXML(parameterIndex);
+  }
+
+  @Override
+  public SQLXML getSQLXML(String parameterName) throws SQLException {
+    return callable().getSQLXML(parameterName);
+  }
+
+  @Override
+  public String getNString(int parameterIndex) throws SQLException {
+    return callable().getNString(parameterIndex);
+  }
+
+  @Override
+  public String getNString(String parameterName) throws SQLException {
+    return callable().getNString(parameterName);
+  }
+
+  @Override
+  public Reader getNCharacterStream(int parameterIndex) throws SQLException {
+    return callable().getNCharacterStream(parameterIndex);
+  }
+
+  @Override
+  public Reader getNCharacterStream(String parameterName) throws SQLException {
+    return callable().getNCharacterStream(parameterName);
+  }
+
+  @Override
+  public Reader getCharacterStream(int parameterIndex) throws SQLException {
+    return callable().getCharacterStream(parameterIndex);
+  }
+
+  @Override
+  public Reader getCharacterStream(String parameterName) throws SQLException {
+    return callable().getCharacterStream(parameterName);
+  }
+
+  @Override
+  public void setBlob(String parameterName, Blob x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setBlob(parameterName, x);
+  }
+
+  @Override
+  public void setClob(String parameterName, Clob x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setClob(parameterName, x);
+  }
+
+  @Override
+  public void setAsciiStream(String parameterName, InputStream x, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setAsciiStream(parameterName, x, length);
+  }
+
+  @Override
+  public void setBinaryStream(String parameterName, InputStream x, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setBinaryStream(parameterName, x, length);
+  }
+
+  @Override
+  public void setCharacterStream(String parameterName, Reader reader, long length) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, reader);
+    }
+    callable().setCharacterStream(parameterName, reader, length);
+  }
+
+  @Override
+  public void setAsciiStream(String parameterName, InputStream x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setAsciiStream(parameterName, x);
+  }
+
+  @Override
+  public void setBinaryStream(String parameterName, InputStream x) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setBinaryStream(parameterName, x);
+  }
+
+  @Override
+  public void setCharacterStream(String parameterName, Reader reader) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, reader);
+    }
+    callable().setCharacterStream(parameterName, reader);
+  }
+
+  @Override
+  public void setNCharacterStream(String parameterName, Reader value) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, value);
+    }
+    callable().setNCharacterStream(parameterName, value);
+  }
+
+  @Override
+  public void setClob(String parameterName, Reader reader) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, reader);
+    }
+    callable().setClob(parameterName, reader);
+  }
+
+  @Override
+  public void setBlob(String parameterName, InputStream inputStream) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, inputStream);
+    }
+    callable().setBlob(parameterName, inputStream);
+  }
+
+  @Override
+  public void setNClob(String parameterName, Reader reader) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, reader);
+    }
+    callable().setNClob(parameterName, reader);
+  }
+
+  @Override
+  public <T> T getObject(int parameterIndex, Class<T> type) throws SQLException {
+    return callable().getObject(parameterIndex, type);
+  }
+
+  @Override
+  public <T> T getObject(String parameterName, Class<T> type) throws SQLException {
+    return callable().getObject(parameterName, type);
+  }
+
+  @Override
+  public void setObject(String parameterName, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setObject(parameterName, x, targetSqlType, scaleOrLength);
+  }
+
+  @Override
+  public void setObject(String parameterName, Object x, SQLType targetSqlType) throws SQLException {
+    if (isRecording()) {
+      setColumn(parameterName, x);
+    }
+    callable().setObject(parameterName, x, targetSqlType);
+  }
+
+  @Override
+  public void registerOutParameter(int parameterIndex, SQLType sqlType) throws SQLException {
+    callable().registerOutParameter(parameterIndex, sqlType);
+  }
+
+  @Override
+  public void registerOutParameter(int parameterIndex, SQLType sqlType, int scale) throws SQLException {
+    callable().registerOutParameter(parameterIndex, sqlType, scale);
+  }
+
+  @Override
+  public void registerOutParameter(int parameterIndex, SQLType sqlType, String typeName) throws SQLException {
+    callable().registerOutParameter(parameterIndex, sqlType, typeName);
+  }
+
+  @Override
+  public void registerOutParameter(String parameterName, SQLType sqlType) throws SQLException {
+    callable().registerOutParameter(parameterName, sqlType);
+  }
+
+  @Override
+  public void registerOutParameter(String parameterName, SQLType sqlType, int scale) throws SQLException {
+    callable().registerOutParameter(parameterName, sqlType, scale);
+  }
+
+  @Override
+  public void registerOutParameter(String parameterName, SQLType sqlType, String typeName) throws SQLException {
+    callable().registerOutParameter(parameterName, sqlType, typeName);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    return statement.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return statement.isWrapperFor(iface);
+  }
+
 }
@@ -0,0 +1,209 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.logging.Log;
+
+/**
+ * 带采样和限流的语句日志。
+ * <p>
+ * 每个MappedStatement持有一个实例，因此采样和限流按语句ID分别计算。是否记录一次执行的日志在
+ * {@link ConnectionLogger}创建语句时由{@link #sample()}决定：未被采样的执行直接使用原始的JDBC对象，
+ * 不产生任何日志开销；被采样的执行完整输出，保证同一次执行的SQL、参数和结果日志不被拆散。
+ * </p>
+ * 可以只记录每N次执行中的一次，也可以限制每秒输出的日志行数。两个值都可以在运行时调整。
+ */
+public final class SampledStatementLog implements Log {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** 被包装的日志对象 */
+    private final Log delegate;
+    /** 采样间隔，1表示记录每次执行 */
+    private volatile int sampleRate;
+    /** 每秒最多输出的日志行数，0表示不限制 */
+    private volatile int maxLinesPerSecond;
+
+    private final AtomicLong executions = new AtomicLong();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /** 当前限流窗口的开始时间 */
+    private volatile long windowStart = System.nanoTime();
+    /** 当前限流窗口内已输出的日志行数 */
+    private final AtomicInteger windowLines = new AtomicInteger();
+
+    /**
+     * 构造函数
+     *
+     * @param delegate          被包装的日志对象
+     * @param sampleRate        采样间隔，1表示记录每次执行
+     * @param maxLinesPerSecond 每秒最多输出的日志行数，0表示不限制
+     */
+    public SampledStatementLog(Log delegate, int sampleRate, int maxLinesPerSecond) {
+        this.delegate = delegate;
+        setSampleRate(sampleRate);
+        setMaxLinesPerSecond(maxLinesPerSecond);
+    }
+
+    /**
+     * 需要采样或限流时包装日志对象，否则原样返回
+     *
+     * @param log               语句的日志对象
+     * @param sampleRate        采样间隔，1表示记录每次执行
+     * @param maxLinesPerSecond 每秒最多输出的日志行数，0表示不限制
+     * @return 日志对象
+     */
+    public static Log wrap(Log log, int sampleRate, int maxLinesPerSecond) {
+        if (sampleRate <= 1 && maxLinesPerSecond <= 0) {
+            return log;
+        }
+        return new SampledStatementLog(log, sampleRate, maxLinesPerSecond);
+    }
+
+    /**
+     * 判断是否记录本次执行的日志，每次创建语句时调用一次
+     *
+     * @return 需要记录时返回true
+     */
+    public boolean sample() {
+        int rate = sampleRate;
+        if (rate > 1 && executions.getAndIncrement() % rate != 0) {
+            skipped.increment();
+            return false;
+        }
+        int limit = maxLinesPerSecond;
+        if (limit > 0 && currentWindow().get() >= limit) {
+            skipped.increment();
+            return false;
+        }
+        sampled.increment();
+        return true;
+    }
+
+    /**
+     * 获取当前限流窗口的行数计数器，窗口过期时重置。并发重置可能多放行少量日志行，这里不要求精确
+     *
+     * @return 当前窗口的行数计数器
+     */
+    private AtomicInteger currentWindow() {
+        long now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS) {
+            windowStart = now;
+            windowLines.set(0);
+        }
+        return windowLines;
+    }
+
+    /**
+     * 记录输出了一行日志
+     */
+    private void countLine() {
+        if (maxLinesPerSecond > 0) {
+            currentWindow().incrementAndGet();
+        }
+    }
+
+    public Log getDelegate() {
+        return delegate;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 设置采样间隔
+     *
+     * @param sampleRate 采样间隔，小于等于1时记录每次执行
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public int getMaxLinesPerSecond() {
+        return maxLinesPerSecond;
+    }
+
+    /**
+     * 设置每秒最多输出的日志行数
+     *
+     * @param maxLinesPerSecond 每秒最多输出的日志行数，小于等于0时不限制
+     */
+    public void setMaxLinesPerSecond(int maxLinesPerSecond) {
+        this.maxLinesPerSecond = Math.max(0, maxLinesPerSecond);
+    }
+
+    /**
+     * 获取被采样的执行次数
+     *
+     * @return 被采样的执行次数
+     */
+    public long getSampledCount() {
+        return sampled.sum();
+    }
+
+    /**
+     * 获取因采样或限流而未记录日志的执行次数
+     *
+     * @return 未记录日志的执行次数
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return delegate.isTraceEnabled();
+    }
+
+    @Override
+    public void error(String s, Throwable e) {
+        delegate.error(s, e);
+    }
+
+    @Override
+    public void error(String s) {
+        delegate.error(s);
+    }
+
+    @Override
+    public void debug(String s) {
+        countLine();
+        delegate.debug(s);
+    }
+
+    @Override
+    public void warn(String s) {
+        delegate.warn(s);
+    }
+
+    @Override
+    public void trace(String s) {
+        countLine();
+        delegate.trace(s);
+    }
+}
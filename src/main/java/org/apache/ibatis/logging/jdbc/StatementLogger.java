@@ -15,96 +15,483 @@
  */
 package org.apache.ibatis.logging.jdbc;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
 import java.sql.Statement;
 
 import org.apache.ibatis.logging.Log;
-import org.apache.ibatis.reflection.ExceptionUtil;
 
 /**
- * Statement代理类，用于添加日志记录功能。
+ * Statement包装类，用于添加日志记录功能。
+ * 直接实现{@link Statement}接口而不是通过{@link java.lang.reflect.Proxy}代理，不需要记录日志的方法直接委托给被包装的Statement。
  *
  * @author heng
  * @date 2025-11-04 23:43:46
  */
-public final class StatementLogger extends BaseJdbcLogger implements InvocationHandler {
+public final class StatementLogger extends BaseJdbcLogger implements Statement {
 
-    /** 被代理的Statement对象 */
+    /** 被包装的Statement对象 */
     private final Statement statement;
+    /** 执行计时，为null时不计时 */
+    private final ExecutionTimer timer;
 
     /**
      * 构造函数，创建StatementLogger实例
      *
-     * @param stmt         被代理的Statement对象
+     * @param stmt         被包装的Statement对象
      * @param statementLog 日志记录器
      * @param queryStack   查询堆栈深度
+     * @param muted        是否不输出DEBUG和TRACE日志
+     * @param timer        执行计时，为null时不计时
+     * @param dispatcher   异步日志分发器，为null时同步输出日志
      */
-    private StatementLogger(Statement stmt, Log statementLog, int queryStack) {
-        super(statementLog, queryStack);
+    private StatementLogger(Statement stmt, Log statementLog, int queryStack, boolean muted, ExecutionTimer timer,
+            AsyncJdbcLogDispatcher dispatcher) {
+        super(statementLog, queryStack, muted, dispatcher);
         this.statement = stmt;
+        this.timer = timer;
     }
 
     /**
-     * 方法调用处理器，拦截Statement的方法调用并添加日志记录
+     * 创建带日志记录功能的Statement实例
      *
-     * @param proxy  代理对象
-     * @param method 被调用的方法
-     * @param params 方法参数
-     * @return 方法调用结果
-     * @throws Throwable 方法调用可能抛出的异常
+     * @param stmt         要包装的Statement
+     * @param statementLog 语句日志记录器
+     * @param queryStack   查询堆栈深度
+     * @return 带日志记录功能的Statement
      */
-    @Override
-    public Object invoke(Object proxy, Method method, Object[] params) throws Throwable {
-        try {
-            if (Object.class.equals(method.getDeclaringClass())) {
-                return method.invoke(this, params);
-            }
-            if (EXECUTE_METHODS.contains(method.getName())) {
-                if (isDebugEnabled()) {
-                    debug(" Executing: " + removeExtraWhitespace((String) params[0]), true);
-                }
-                if ("executeQuery".equals(method.getName())) {
-                    ResultSet rs = (ResultSet) method.invoke(statement, params);
-                    return rs == null ? null : ResultSetLogger.newInstance(rs, statementLog, queryStack);
-                } else {
-                    return method.invoke(statement, params);
-                }
-            }
-            if ("getResultSet".equals(method.getName())) {
-                ResultSet rs = (ResultSet) method.invoke(statement, params);
-                return rs == null ? null : ResultSetLogger.newInstance(rs, statementLog, queryStack);
-            } else {
-                return method.invoke(statement, params);
-            }
-        } catch (Throwable t) {
-            throw ExceptionUtil.unwrapThrowable(t);
-        }
+    public static Statement newInstance(Statement stmt, Log statementLog, int queryStack) {
+        return new StatementLogger(stmt, statementLog, queryStack, false, null, null);
     }
 
     /**
-     * 创建带日志记录功能的Statement代理实例
+     * 创建Statement实例，可以只计时而不输出DEBUG日志
      *
-     * @param stmt         要代理的Statement
+     * @param stmt         要包装的Statement
      * @param statementLog 语句日志记录器
      * @param queryStack   查询堆栈深度
-     * @return 带日志记录功能的Statement代理
+     * @param muted        是否不输出DEBUG和TRACE日志
+     * @param timer        执行计时，为null时不计时
+     * @param dispatcher   异步日志分发器，为null时同步输出日志
+     * @return 带日志记录功能的Statement
      */
-    public static Statement newInstance(Statement stmt, Log statementLog, int queryStack) {
-        InvocationHandler handler = new StatementLogger(stmt, statementLog, queryStack);
-        ClassLoader cl = Statement.class.getClassLoader();
-        return (Statement) Proxy.newProxyInstance(cl, new Class[]{Statement.class}, handler);
+    static Statement newInstance(Statement stmt, Log statementLog, int queryStack, boolean muted,
+            ExecutionTimer timer, AsyncJdbcLogDispatcher dispatcher) {
+        return new StatementLogger(stmt, statementLog, queryStack, muted, timer, dispatcher);
     }
 
     /**
-     * 获取被代理的Statement对象
+     * 获取被包装的Statement对象
      *
-     * @return 被代理的Statement对象
+     * @return 被包装的Statement对象
      */
     public Statement getStatement() {
         return statement;
     }
 
+    /**
+     * 记录将要执行的SQL语句
+     *
+     * @param sql SQL语句
+     */
+    private void logExecuting(String sql) {
+        debugSql(" Executing: ", sql, true);
+        ExecutionTimer.start(timer, sql);
+    }
+
+    /**
+     * 记录加入批量的SQL语句
+     *
+     * @param sql SQL语句
+     */
+    private void logBatch(String sql) {
+        debugSql(" Executing: ", sql, true);
+        if (timer != null) {
+            timer.startBatch(sql);
+        }
+    }
+
+    /**
+     * 为结果集添加日志记录功能
+     *
+     * @param rs 结果集
+     * @return 带日志记录功能的结果集，结果集为null时返回null
+     */
+    private ResultSet logResultSet(ResultSet rs) {
+        if (rs == null) {
+            if (timer != null) {
+                timer.finish(-1);
+            }
+            return null;
+        }
+        if (timer != null) {
+            timer.executed();
+        }
+        return ResultSetLogger.newInstance(rs, statementLog, queryStack, isMuted(), timer, getAsyncDispatcher());
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        logExecuting(sql);
+        try {
+            return logResultSet(statement.executeQuery(sql));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        logExecuting(sql);
+        try {
+            return ExecutionTimer.finishUpdate(timer, statement.executeUpdate(sql));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        logExecuting(sql);
+        try {
+            return ExecutionTimer.finishUpdate(timer, statement.executeUpdate(sql, autoGeneratedKeys));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        logExecuting(sql);
+        try {
+            return ExecutionTimer.finishUpdate(timer, statement.executeUpdate(sql, columnIndexes));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        logExecuting(sql);
+        try {
+            return ExecutionTimer.finishUpdate(timer, statement.executeUpdate(sql, columnNames));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        logExecuting(sql);
+        try {
+            return ExecutionTimer.finishExecute(timer, statement.execute(sql));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        logExecuting(sql);
+        try {
+            return ExecutionTimer.finishExecute(timer, statement.execute(sql, autoGeneratedKeys));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        logExecuting(sql);
+        try {
+            return ExecutionTimer.finishExecute(timer, statement.execute(sql, columnIndexes));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        logExecuting(sql);
+        try {
+            return ExecutionTimer.finishExecute(timer, statement.execute(sql, columnNames));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        logBatch(sql);
+        statement.addBatch(sql);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return logResultSet(statement.getResultSet());
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        ExecutionTimer.start(timer, sql);
+        try {
+            return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate(sql));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        ExecutionTimer.start(timer, sql);
+        try {
+            return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate(sql, autoGeneratedKeys));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        ExecutionTimer.start(timer, sql);
+        try {
+            return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate(sql, columnIndexes));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        ExecutionTimer.start(timer, sql);
+        try {
+            return ExecutionTimer.finishUpdate(timer, statement.executeLargeUpdate(sql, columnNames));
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        try {
+            int[] counts = statement.executeBatch();
+            ExecutionTimer.finishBatch(timer, counts);
+            return counts;
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        try {
+            long[] counts = statement.executeLargeBatch();
+            ExecutionTimer.finishBatch(timer, counts);
+            return counts;
+        } catch (SQLException e) {
+            throw ExecutionTimer.fail(timer, e);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (timer != null) {
+            // 结果集没有读完时在这里结束计时
+            timer.finish(-1);
+        }
+        statement.close();
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return statement.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        statement.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return statement.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        statement.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        statement.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return statement.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        statement.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        statement.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return statement.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        statement.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        statement.setCursorName(name);
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return statement.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return statement.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        statement.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return statement.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        statement.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return statement.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return statement.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return statement.getResultSetType();
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        statement.clearBatch();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return statement.getConnection();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return statement.getMoreResults(current);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return statement.getGeneratedKeys();
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return statement.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return statement.isClosed();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        statement.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return statement.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        statement.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return statement.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return statement.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        statement.setLargeMaxRows(max);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return statement.getLargeMaxRows();
+    }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return statement.enquoteLiteral(val);
+    }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return statement.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return statement.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return statement.enquoteNCharLiteral(val);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return statement.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return statement.isWrapperFor(iface);
+    }
+
 }
\ No newline at end of file
@@ -7,22 +7,43 @@ import org.slf4j.Marker;
 import org.slf4j.spi.LocationAwareLogger;
 
 public class Slf4jImpl implements Log {
-    private Log log;
 
-    public Slf4jImpl(Class<?> clazz) {
-        Logger logger = LoggerFactory.getLogger(clazz);
-        if (logger instanceof LocationAwareLogger) {
+    /**
+     * 每个Logger实现类是否提供位置感知的log方法，每个类只通过反射检查一次
+     */
+    private static final ClassValue<Boolean> LOCATION_AWARE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!LocationAwareLogger.class.isAssignableFrom(type)) {
+                return false;
+            }
             try {
-                logger.getClass().getMethod("log", Marker.class, String.class, String.class, Object[].class,
+                type.getMethod("log", Marker.class, String.class, int.class, String.class, Object[].class,
                         Throwable.class);
-                log = new Slf4jLocationAwareLoggerImpl((LocationAwareLogger) logger);
-                return;
+                return true;
             } catch (NoSuchMethodException e) {
                 //fail-back to Slf4jLoggerImpl
+                return false;
             }
         }
-        log = new Slf4jLoggerImpl(logger);
+    };
+
+    private final Log log;
+
+    public Slf4jImpl(String clazz) {
+        this(LoggerFactory.getLogger(clazz));
+    }
 
+    public Slf4jImpl(Class<?> clazz) {
+        this(LoggerFactory.getLogger(clazz));
+    }
+
+    private Slf4jImpl(Logger logger) {
+        if (LOCATION_AWARE.get(logger.getClass())) {
+            log = new Slf4jLocationAwareLoggerImpl((LocationAwareLogger) logger);
+        } else {
+            log = new Slf4jLoggerImpl(logger);
+        }
     }
 
     @Override
@@ -20,7 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.reflection.MetaObject;
-import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.property.CompiledPropertyPath;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -89,7 +89,7 @@ public class BoundSql {
      * @return 如果包含返回true，否则返回false
      */
     public boolean hasAdditionalParameter(String name) {
-        String paramName = new PropertyTokenizer(name).getName();
+        String paramName = CompiledPropertyPath.compile(name).getTokenizer().getName();
         return additionalParameters.containsKey(paramName);
     }
 
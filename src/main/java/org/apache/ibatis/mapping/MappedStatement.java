@@ -23,8 +23,10 @@ import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.metrics.StatementMetrics;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.logging.jdbc.SampledStatementLog;
 import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.session.Configuration;
@@ -55,6 +57,7 @@ public final class MappedStatement {
   private boolean hasNestedResultMaps;
   private String databaseId;
   private Log statementLog;
+  private StatementMetrics statementMetrics;
   private LanguageDriver lang;
   private String[] resultSets;
   private ParamNameResolver paramNameResolver;
@@ -83,7 +86,8 @@ public final class MappedStatement {
       if (configuration.getLogPrefix() != null) {
         logId = configuration.getLogPrefix() + id;
       }
-      mappedStatement.statementLog = LogFactory.getLog(logId);
+      mappedStatement.statementLog = SampledStatementLog.wrap(LogFactory.getLog(logId),
+          configuration.getStatementLogSampleRate(), configuration.getStatementLogRateLimit());
       mappedStatement.lang = configuration.getDefaultScriptingLanguageInstance();
     }
 
@@ -299,6 +303,26 @@ public final class MappedStatement {
     return statementLog;
   }
 
+  /**
+   * Returns the metrics to record the executions of this statement into.
+   *
+   * @return the metrics, or null if statement metrics are disabled
+   *
+   * @see Configuration#setStatementMetricsEnabled(boolean)
+   */
+  public StatementMetrics getStatementMetrics() {
+    if (!configuration.isStatementMetricsEnabled()) {
+      return null;
+    }
+    StatementMetrics metrics = statementMetrics;
+    if (metrics == null) {
+      // the registry always returns the same instance for an id, so a racy first assignment is harmless
+      metrics = configuration.getStatementMetricsRegistry().getMetrics(id);
+      statementMetrics = metrics;
+    }
+    return metrics;
+  }
+
   public LanguageDriver getLang() {
     return lang;
   }
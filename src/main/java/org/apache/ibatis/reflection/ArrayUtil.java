@@ -3,36 +3,46 @@ package org.apache.ibatis.reflection;
 import java.util.Arrays;
 
 public class ArrayUtil {
+
+    /**
+     * The {@link ArrayKind} of each class, so that the component type is only inspected once per class instead of
+     * walking the chain of component type checks on every call.
+     */
+    private static final ClassValue<ArrayKind> KINDS = new ClassValue<ArrayKind>() {
+        @Override
+        protected ArrayKind computeValue(Class<?> type) {
+            if (!type.isArray()) {
+                return ArrayKind.NOT_ARRAY;
+            }
+            final Class<?> componentType = type.getComponentType();
+            if (long.class.equals(componentType)) {
+                return ArrayKind.LONG;
+            } else if (int.class.equals(componentType)) {
+                return ArrayKind.INT;
+            } else if (short.class.equals(componentType)) {
+                return ArrayKind.SHORT;
+            } else if (char.class.equals(componentType)) {
+                return ArrayKind.CHAR;
+            } else if (byte.class.equals(componentType)) {
+                return ArrayKind.BYTE;
+            } else if (boolean.class.equals(componentType)) {
+                return ArrayKind.BOOLEAN;
+            } else if (float.class.equals(componentType)) {
+                return ArrayKind.FLOAT;
+            } else if (double.class.equals(componentType)) {
+                return ArrayKind.DOUBLE;
+            } else {
+                return ArrayKind.OBJECT;
+            }
+        }
+    };
+
     public static int hashCode(Object obj) {
         if (obj == null) {
             // for consistency with Arrays#hashCode() and Objects#hashCode()
             return 0;
         }
-        final Class<?> clazz = obj.getClass();
-        if (!clazz.isArray()) {
-            return obj.hashCode();
-        }
-        final Class<?> componentType = clazz.getComponentType();
-        if (long.class.equals(componentType)) {
-            return Arrays.hashCode((long[]) obj);
-        }
-        if (int.class.equals(componentType)) {
-            return Arrays.hashCode((int[]) obj);
-        } else if (short.class.equals(componentType)) {
-            return Arrays.hashCode((short[]) obj);
-        } else if (char.class.equals(componentType)) {
-            return Arrays.hashCode((char[]) obj);
-        } else if (byte.class.equals(componentType)) {
-            return Arrays.hashCode((byte[]) obj);
-        } else if (boolean.class.equals(componentType)) {
-            return Arrays.hashCode((boolean[]) obj);
-        } else if (float.class.equals(componentType)) {
-            return Arrays.hashCode((float[]) obj);
-        } else if (double.class.equals(componentType)) {
-            return Arrays.hashCode((double[]) obj);
-        } else {
-            return Arrays.hashCode((Object[]) obj);
-        }
+        return KINDS.get(obj.getClass()).hashCode(obj);
     }
 
     /**
@@ -63,30 +73,7 @@ public class ArrayUtil {
         if (!clazz.equals(thatObj.getClass())) {
             return false;
         }
-        if (!clazz.isArray()) {
-            return thisObj.equals(thatObj);
-        }
-        final Class<?> componentType = clazz.getComponentType();
-        if (long.class.equals(componentType)) {
-            return Arrays.equals((long[]) thisObj, (long[]) thatObj);
-        }
-        if (int.class.equals(componentType)) {
-            return Arrays.equals((int[]) thisObj, (int[]) thatObj);
-        } else if (short.class.equals(componentType)) {
-            return Arrays.equals((short[]) thisObj, (short[]) thatObj);
-        } else if (char.class.equals(componentType)) {
-            return Arrays.equals((char[]) thisObj, (char[]) thatObj);
-        } else if (byte.class.equals(componentType)) {
-            return Arrays.equals((byte[]) thisObj, (byte[]) thatObj);
-        } else if (boolean.class.equals(componentType)) {
-            return Arrays.equals((boolean[]) thisObj, (boolean[]) thatObj);
-        } else if (float.class.equals(componentType)) {
-            return Arrays.equals((float[]) thisObj, (float[]) thatObj);
-        } else if (double.class.equals(componentType)) {
-            return Arrays.equals((double[]) thisObj, (double[]) thatObj);
-        } else {
-            return Arrays.equals((Object[]) thisObj, (Object[]) thatObj);
-        }
+        return KINDS.get(clazz).equals(thisObj, thatObj);
     }
 
     /**
@@ -102,33 +89,235 @@ public class ArrayUtil {
         if (obj == null) {
             return "null";
         }
-        final Class<?> clazz = obj.getClass();
-        if (!clazz.isArray()) {
-            return obj.toString();
+        return KINDS.get(obj.getClass()).toString(obj);
+    }
+
+    /**
+     * Wraps an array whose content will not change any more, e.g. a list of ids passed as a statement parameter, so that
+     * its hash code is computed only once. The wrapper can then be used as, or as part of, a cache key without paying
+     * for a full pass over the array on every lookup.
+     *
+     * @param array
+     *          An array that must not be modified afterwards. May also be any other object or <code>null</code>.
+     *
+     * @return The wrapper, equal to other wrappers of arrays that are equal according to
+     *         {@link #equals(Object, Object)}.
+     */
+    public static HashedArray hashed(Object array) {
+        return array instanceof HashedArray ? (HashedArray) array : new HashedArray(array);
+    }
+
+    /**
+     * An immutable array together with its hash code.
+     *
+     * @see ArrayUtil#hashed(Object)
+     */
+    public static final class HashedArray {
+        private final Object array;
+        private final int hashCode;
+
+        private HashedArray(Object array) {
+            this.array = array;
+            this.hashCode = ArrayUtil.hashCode(array);
+        }
+
+        public Object getArray() {
+            return array;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
         }
-        final Class<?> componentType = obj.getClass().getComponentType();
-        if (long.class.equals(componentType)) {
-            return Arrays.toString((long[]) obj);
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof HashedArray)) {
+                return false;
+            }
+            HashedArray other = (HashedArray) obj;
+            // differing hashes settle most mismatches without comparing the elements
+            return hashCode == other.hashCode && ArrayUtil.equals(array, other.array);
         }
-        if (int.class.equals(componentType)) {
-            return Arrays.toString((int[]) obj);
-        } else if (short.class.equals(componentType)) {
-            return Arrays.toString((short[]) obj);
-        } else if (char.class.equals(componentType)) {
-            return Arrays.toString((char[]) obj);
-        } else if (byte.class.equals(componentType)) {
-            return Arrays.toString((byte[]) obj);
-        } else if (boolean.class.equals(componentType)) {
-            return Arrays.toString((boolean[]) obj);
-        } else if (float.class.equals(componentType)) {
-            return Arrays.toString((float[]) obj);
-        } else if (double.class.equals(componentType)) {
-            return Arrays.toString((double[]) obj);
-        } else {
-            return Arrays.toString((Object[]) obj);
+
+        @Override
+        public String toString() {
+            return ArrayUtil.toString(array);
         }
     }
 
+    private enum ArrayKind {
+        NOT_ARRAY {
+            @Override
+            int hashCode(Object obj) {
+                return obj.hashCode();
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return thisObj.equals(thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return obj.toString();
+            }
+        },
+        LONG {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((long[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((long[]) thisObj, (long[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((long[]) obj);
+            }
+        },
+        INT {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((int[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((int[]) thisObj, (int[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((int[]) obj);
+            }
+        },
+        SHORT {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((short[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((short[]) thisObj, (short[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((short[]) obj);
+            }
+        },
+        CHAR {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((char[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((char[]) thisObj, (char[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((char[]) obj);
+            }
+        },
+        BYTE {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((byte[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((byte[]) thisObj, (byte[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((byte[]) obj);
+            }
+        },
+        BOOLEAN {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((boolean[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((boolean[]) thisObj, (boolean[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((boolean[]) obj);
+            }
+        },
+        FLOAT {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((float[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((float[]) thisObj, (float[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((float[]) obj);
+            }
+        },
+        DOUBLE {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((double[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((double[]) thisObj, (double[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((double[]) obj);
+            }
+        },
+        OBJECT {
+            @Override
+            int hashCode(Object obj) {
+                return Arrays.hashCode((Object[]) obj);
+            }
+
+            @Override
+            boolean equals(Object thisObj, Object thatObj) {
+                return Arrays.equals((Object[]) thisObj, (Object[]) thatObj);
+            }
+
+            @Override
+            String toString(Object obj) {
+                return Arrays.toString((Object[]) obj);
+            }
+        };
+
+        abstract int hashCode(Object obj);
+
+        abstract boolean equals(Object thisObj, Object thatObj);
+
+        abstract String toString(Object obj);
+    }
+
     private ArrayUtil() {
     }
 }
@@ -0,0 +1,486 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.invoker.AmbiguousMethodInvoker;
+import org.apache.ibatis.reflection.invoker.DoubleGetter;
+import org.apache.ibatis.reflection.invoker.DoubleSetter;
+import org.apache.ibatis.reflection.invoker.IntGetter;
+import org.apache.ibatis.reflection.invoker.IntSetter;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaGetInvoker;
+import org.apache.ibatis.reflection.invoker.LambdaSetInvoker;
+import org.apache.ibatis.reflection.invoker.LongGetter;
+import org.apache.ibatis.reflection.invoker.LongSetter;
+
+/**
+ * Copies the properties of one bean class to another.
+ * <p>
+ * For each pair of classes a plan is built once from their {@link Reflector}s: every writable property of the target
+ * is matched to a readable property of the source by name, then ignoring case, then also ignoring underscores on
+ * either side. Pairs whose types are not assignable (allowing boxing and comparing type arguments) or whose accessors
+ * are ambiguous are left out, and {@code int}, {@code long} and {@code double} pairs are copied without boxing. Plans
+ * are cached.
+ *
+ * @param <S>
+ *          the source type
+ * @param <T>
+ *          the target type
+ */
+public final class BeanCopier<S, T> {
+
+  private static final Object[] NO_ARGUMENTS = {};
+
+  // copiers keyed by target class, attached to the source class
+  private static final ClassValue<ConcurrentMap<Class<?>, BeanCopier<?, ?>>> bySource = new CopierMaps();
+  // copiers keyed by source class, attached to the target class
+  private static final ClassValue<ConcurrentMap<Class<?>, BeanCopier<?, ?>>> byTarget = new CopierMaps();
+
+  private final Class<S> sourceType;
+  private final Class<T> targetType;
+  private final PropertyCopy[] properties;
+
+  private BeanCopier(Class<S> sourceType, Class<T> targetType, ReflectorFactory reflectorFactory) {
+    this.sourceType = sourceType;
+    this.targetType = targetType;
+    Reflector source = reflectorFactory.findForClass(sourceType);
+    Reflector target = reflectorFactory.findForClass(targetType);
+    Map<String, String> matches = new LinkedHashMap<>();
+    for (String targetProperty : target.getSetablePropertyNames()) {
+      String sourceProperty = findSourceProperty(source, targetProperty);
+      if (sourceProperty != null) {
+        matches.put(targetProperty, sourceProperty);
+      }
+    }
+    // the camel case lookup only skips underscores in the name looked up, so also match the other way round, e.g.
+    // a source user_name to a target userName
+    for (String sourceProperty : source.getGetablePropertyNames()) {
+      String targetProperty = target.findPropertyName(sourceProperty, true);
+      if (targetProperty != null && target.hasSetter(targetProperty)) {
+        matches.putIfAbsent(targetProperty, sourceProperty);
+      }
+    }
+    List<PropertyCopy> list = new ArrayList<>();
+    for (Map.Entry<String, String> match : matches.entrySet()) {
+      PropertyCopy copy = newPropertyCopy(source, match.getValue(), target, match.getKey());
+      if (copy != null) {
+        list.add(copy);
+      }
+    }
+    this.properties = list.toArray(new PropertyCopy[0]);
+  }
+
+  /**
+   * Gets the copier between two classes, creating and caching it on first use.
+   * <p>
+   * The copier is cached per pair of classes, not per reflector factory: the factory is only used to build the plan
+   * when the pair is first requested, and later calls get the cached copier whatever factory they pass. When neither
+   * class is visible from the other's class loader the copier is not cached at all.
+   *
+   * @param sourceType
+   *          the class to copy from
+   * @param targetType
+   *          the class to copy to
+   * @param reflectorFactory
+   *          the reflector factory
+   *
+   * @return the copier
+   */
+  @SuppressWarnings("unchecked")
+  public static <S, T> BeanCopier<S, T> forClasses(Class<S> sourceType, Class<T> targetType,
+      ReflectorFactory reflectorFactory) {
+    // attach the copier to the class that is unloaded first, so that it never pins the other one
+    ConcurrentMap<Class<?>, BeanCopier<?, ?>> copiers;
+    Class<?> key;
+    if (isVisibleFrom(targetType, sourceType.getClassLoader())) {
+      copiers = bySource.get(sourceType);
+      key = targetType;
+    } else if (isVisibleFrom(sourceType, targetType.getClassLoader())) {
+      copiers = byTarget.get(targetType);
+      key = sourceType;
+    } else {
+      // unrelated loaders: either side may be unloaded first, so any cache entry would pin one of them
+      return new BeanCopier<>(sourceType, targetType, reflectorFactory);
+    }
+    BeanCopier<?, ?> copier = copiers.get(key);
+    if (copier == null) {
+      copier = new BeanCopier<>(sourceType, targetType, reflectorFactory);
+      BeanCopier<?, ?> existing = copiers.putIfAbsent(key, copier);
+      if (existing != null) {
+        copier = existing;
+      }
+    }
+    return (BeanCopier<S, T>) copier;
+  }
+
+  public Class<S> getSourceType() {
+    return sourceType;
+  }
+
+  public Class<T> getTargetType() {
+    return targetType;
+  }
+
+  /**
+   * Copies the matching properties of a source bean to a target bean.
+   *
+   * @param source
+   *          the bean to read
+   * @param target
+   *          the bean to write
+   */
+  public void copy(S source, T target) {
+    for (PropertyCopy property : properties) {
+      try {
+        property.copy(source, target);
+      } catch (Throwable t) {
+        Throwable cause = ExceptionUtil.unwrapThrowable(t);
+        throw new ReflectionException("Could not copy property '" + property.sourceProperty + "' of " + sourceType
+            + " to property '" + property.targetProperty + "' of " + targetType + ".  Cause: " + cause, cause);
+      }
+    }
+  }
+
+  /**
+   * Creates a target bean with the object factory and copies the matching properties of a source bean into it.
+   *
+   * @param source
+   *          the bean to read
+   * @param objectFactory
+   *          the factory creating the target bean
+   *
+   * @return the new target bean
+   */
+  public T copyToNew(S source, ObjectFactory objectFactory) {
+    T target = objectFactory.create(targetType);
+    copy(source, target);
+    return target;
+  }
+
+  private static String findSourceProperty(Reflector source, String targetProperty) {
+    if (source.hasGetter(targetProperty)) {
+      return targetProperty;
+    }
+    String property = source.findPropertyName(targetProperty, false);
+    if (property == null) {
+      property = source.findPropertyName(targetProperty, true);
+    }
+    return property != null && source.hasGetter(property) ? property : null;
+  }
+
+  private static PropertyCopy newPropertyCopy(Reflector source, String sourceProperty, Reflector target,
+      String targetProperty) {
+    Invoker getInvoker = source.getGetInvoker(sourceProperty);
+    Invoker setInvoker = target.getSetInvoker(targetProperty);
+    if (getInvoker instanceof AmbiguousMethodInvoker || setInvoker instanceof AmbiguousMethodInvoker) {
+      return null;
+    }
+    Class<?> sourceClass = source.getGetterType(sourceProperty);
+    Class<?> targetClass = target.getSetterType(targetProperty);
+    if (sourceClass == targetClass) {
+      if (sourceClass == int.class) {
+        IntGetter getter = source.getIntGetter(sourceProperty);
+        IntSetter setter = target.getIntSetter(targetProperty);
+        if (getter != null && setter != null) {
+          return new PropertyCopy(sourceProperty, targetProperty) {
+            @Override
+            void copy(Object from, Object to) {
+              setter.setInt(to, getter.getInt(from));
+            }
+          };
+        }
+      } else if (sourceClass == long.class) {
+        LongGetter getter = source.getLongGetter(sourceProperty);
+        LongSetter setter = target.getLongSetter(targetProperty);
+        if (getter != null && setter != null) {
+          return new PropertyCopy(sourceProperty, targetProperty) {
+            @Override
+            void copy(Object from, Object to) {
+              setter.setLong(to, getter.getLong(from));
+            }
+          };
+        }
+      } else if (sourceClass == double.class) {
+        DoubleGetter getter = source.getDoubleGetter(sourceProperty);
+        DoubleSetter setter = target.getDoubleSetter(targetProperty);
+        if (getter != null && setter != null) {
+          return new PropertyCopy(sourceProperty, targetProperty) {
+            @Override
+            void copy(Object from, Object to) {
+              setter.setDouble(to, getter.getDouble(from));
+            }
+          };
+        }
+      }
+    }
+    if (!wrap(targetClass).isAssignableFrom(wrap(sourceClass))
+        || !isAssignable(target.getGenericSetterType(targetProperty).getKey(),
+            source.getGenericGetterType(sourceProperty).getKey())) {
+      return null;
+    }
+    // a null cannot be assigned to a primitive, the target keeps its value then
+    boolean skipNull = targetClass.isPrimitive();
+    if (getInvoker instanceof LambdaGetInvoker && setInvoker instanceof LambdaSetInvoker) {
+      LambdaGetInvoker lambdaGetter = (LambdaGetInvoker) getInvoker;
+      LambdaSetInvoker lambdaSetter = (LambdaSetInvoker) setInvoker;
+      return new PropertyCopy(sourceProperty, targetProperty) {
+        @Override
+        void copy(Object from, Object to) {
+          Object value = lambdaGetter.get(from);
+          if (value != null || !skipNull) {
+            lambdaSetter.set(to, value);
+          }
+        }
+      };
+    }
+    return new PropertyCopy(sourceProperty, targetProperty) {
+      @Override
+      void copy(Object from, Object to) throws Throwable {
+        Object value = getInvoker.invoke(from, NO_ARGUMENTS);
+        if (value != null || !skipNull) {
+          setInvoker.invoke(to, new Object[] { value });
+        }
+      }
+    };
+  }
+
+  private static Class<?> wrap(Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  /**
+   * Checks the type arguments of two property types whose raw classes are known to be assignable, so that e.g. a
+   * {@code List<String>} is not copied into a {@code List<Integer>}. A raw source type is accepted, as the compiler
+   * accepts it with an unchecked warning.
+   */
+  private static boolean isAssignable(Type targetType, Type sourceType) {
+    if (targetType instanceof GenericArrayType) {
+      Type targetComponent = ((GenericArrayType) targetType).getGenericComponentType();
+      if (sourceType instanceof GenericArrayType) {
+        return isAssignable(targetComponent, ((GenericArrayType) sourceType).getGenericComponentType());
+      }
+      return sourceType instanceof Class && ((Class<?>) sourceType).isArray()
+          && isAssignable(targetComponent, ((Class<?>) sourceType).getComponentType());
+    }
+    if (!(targetType instanceof ParameterizedType)) {
+      return true;
+    }
+    ParameterizedType target = (ParameterizedType) targetType;
+    Type source = asSuperType(sourceType, (Class<?>) target.getRawType());
+    if (!(source instanceof ParameterizedType)) {
+      return source != null;
+    }
+    Type[] targetArguments = target.getActualTypeArguments();
+    Type[] sourceArguments = ((ParameterizedType) source).getActualTypeArguments();
+    for (int i = 0; i < targetArguments.length; i++) {
+      if (!contains(targetArguments[i], sourceArguments[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean contains(Type targetArgument, Type sourceArgument) {
+    if (!(targetArgument instanceof WildcardType)) {
+      return targetArgument.equals(sourceArgument);
+    }
+    WildcardType wildcard = (WildcardType) targetArgument;
+    for (Type lowerBound : wildcard.getLowerBounds()) {
+      if (sourceArgument instanceof WildcardType || !isSubtype(lowerBound, sourceArgument)) {
+        return false;
+      }
+    }
+    Type upperSource = sourceArgument instanceof WildcardType ? ((WildcardType) sourceArgument).getUpperBounds()[0]
+        : sourceArgument;
+    for (Type upperBound : wildcard.getUpperBounds()) {
+      if (!isSubtype(upperSource, upperBound)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSubtype(Type type, Type superType) {
+    if (superType == Object.class || type.equals(superType)) {
+      return true;
+    }
+    Class<?> rawType = rawClass(type);
+    Class<?> rawSuperType = rawClass(superType);
+    return rawType != null && rawSuperType != null && rawSuperType.isAssignableFrom(rawType)
+        && isAssignable(superType, type);
+  }
+
+  /**
+   * Views a type as one of its supertypes, with the type variables of the supertype replaced by what the type binds
+   * them to.
+   *
+   * @return the supertype, the raw class if the type is raw, or null if it cannot be determined
+   */
+  private static Type asSuperType(Type type, Class<?> superClass) {
+    Class<?> rawType = rawClass(type);
+    if (rawType == null || !superClass.isAssignableFrom(rawType)) {
+      return null;
+    }
+    if (rawType == superClass) {
+      return type;
+    }
+    if (type instanceof Class && rawType.getTypeParameters().length > 0) {
+      return superClass;
+    }
+    Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+    if (type instanceof ParameterizedType) {
+      TypeVariable<?>[] typeVariables = rawType.getTypeParameters();
+      Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+      for (int i = 0; i < typeVariables.length; i++) {
+        bindings.put(typeVariables[i], typeArguments[i]);
+      }
+    }
+    List<Type> superTypes = new ArrayList<>(Arrays.asList(rawType.getGenericInterfaces()));
+    superTypes.add(0, rawType.getGenericSuperclass());
+    for (Type superType : superTypes) {
+      Class<?> rawSuperType = rawClass(superType);
+      if (rawSuperType != null && superClass.isAssignableFrom(rawSuperType)) {
+        return asSuperType(substitute(superType, bindings), superClass);
+      }
+    }
+    return null;
+  }
+
+  private static Type substitute(Type type, Map<TypeVariable<?>, Type> bindings) {
+    if (type instanceof TypeVariable) {
+      return bindings.getOrDefault(type, type);
+    }
+    if (!(type instanceof ParameterizedType)) {
+      return type;
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    Type[] typeArguments = parameterizedType.getActualTypeArguments();
+    for (int i = 0; i < typeArguments.length; i++) {
+      typeArguments[i] = substitute(typeArguments[i], bindings);
+    }
+    return new SubstitutedType((Class<?>) parameterizedType.getRawType(), parameterizedType.getOwnerType(),
+        typeArguments);
+  }
+
+  private static Class<?> rawClass(Type type) {
+    if (type instanceof Class) {
+      return (Class<?>) type;
+    }
+    if (type instanceof ParameterizedType) {
+      return (Class<?>) ((ParameterizedType) type).getRawType();
+    }
+    return null;
+  }
+
+  private static boolean isVisibleFrom(Class<?> type, ClassLoader classLoader) {
+    ClassLoader definingLoader = type.getClassLoader();
+    if (definingLoader == null) {
+      return true;
+    }
+    for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+      if (loader == definingLoader) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class CopierMaps extends ClassValue<ConcurrentMap<Class<?>, BeanCopier<?, ?>>> {
+    @Override
+    protected ConcurrentMap<Class<?>, BeanCopier<?, ?>> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  }
+
+  /**
+   * A supertype with the type variables of a subtype substituted, only used to compare type arguments.
+   */
+  private static final class SubstitutedType implements ParameterizedType {
+    private final Class<?> rawType;
+    private final Type ownerType;
+    private final Type[] actualTypeArguments;
+
+    SubstitutedType(Class<?> rawType, Type ownerType, Type[] actualTypeArguments) {
+      this.rawType = rawType;
+      this.ownerType = ownerType;
+      this.actualTypeArguments = actualTypeArguments;
+    }
+
+    @Override
+    public Type[] getActualTypeArguments() {
+      return actualTypeArguments.clone();
+    }
+
+    @Override
+    public Type getRawType() {
+      return rawType;
+    }
+
+    @Override
+    public Type getOwnerType() {
+      return ownerType;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(ownerType) ^ rawType.hashCode() ^ Arrays.hashCode(actualTypeArguments);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ParameterizedType)) {
+        return false;
+      }
+      ParameterizedType other = (ParameterizedType) obj;
+      return rawType.equals(other.getRawType()) && Objects.equals(ownerType, other.getOwnerType())
+          && Arrays.equals(actualTypeArguments, other.getActualTypeArguments());
+    }
+
+    @Override
+    public String toString() {
+      return rawType.getTypeName() + Arrays.toString(actualTypeArguments).replace('[', '<').replace(']', '>');
+    }
+  }
+
+  private abstract static class PropertyCopy {
+    final String sourceProperty;
+    final String targetProperty;
+
+    PropertyCopy(String sourceProperty, String targetProperty) {
+      this.sourceProperty = sourceProperty;
+      this.targetProperty = targetProperty;
+    }
+
+    abstract void copy(Object from, Object to) throws Throwable;
+  }
+}
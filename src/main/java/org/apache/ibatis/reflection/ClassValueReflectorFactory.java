@@ -0,0 +1,247 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ReflectorFactory} that does not keep classes, or their class loaders, from being unloaded.
+ * <p>
+ * Reflectors are attached to their class through a {@link ClassValue}, so they are collected together with it, and
+ * cached reflectors are found without locking. The factory itself only keeps weak references to the cached classes,
+ * which it uses to enforce an optional maximum number of reflectors (the oldest ones are evicted first) and to drop all
+ * reflectors of a class loader, e.g. when a plugin is undeployed.
+ */
+public class ClassValueReflectorFactory implements ReflectorFactory {
+
+  private final int maxSize;
+  private boolean classCacheEnabled = true;
+
+  private final ClassValue<Slot> slots = new ClassValue<>() {
+    @Override
+    protected Slot computeValue(Class<?> type) {
+      return new Slot();
+    }
+  };
+  private final Queue<ClassReference> cached = new ConcurrentLinkedQueue<>();
+  private final ReferenceQueue<Class<?>> unloaded = new ReferenceQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Creates a factory without a maximum size.
+   */
+  public ClassValueReflectorFactory() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Creates a factory that keeps at most the given number of reflectors.
+   *
+   * @param maxSize
+   *          the maximum number of cached reflectors
+   */
+  public ClassValueReflectorFactory(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("The maximum size must be positive but was " + maxSize + ".");
+    }
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public boolean isClassCacheEnabled() {
+    return classCacheEnabled;
+  }
+
+  @Override
+  public void setClassCacheEnabled(boolean classCacheEnabled) {
+    this.classCacheEnabled = classCacheEnabled;
+  }
+
+  @Override
+  public Reflector findForClass(Class<?> type) {
+    if (!classCacheEnabled) {
+      return new Reflector(type);
+    }
+    Slot slot = slots.get(type);
+    Reflector reflector = slot.reflector;
+    if (reflector != null) {
+      hits.increment();
+      return reflector;
+    }
+    return load(type, slot);
+  }
+
+  private Reflector load(Class<?> type, Slot slot) {
+    Reflector reflector;
+    synchronized (slot) {
+      reflector = slot.reflector;
+      if (reflector != null) {
+        hits.increment();
+        return reflector;
+      }
+      misses.increment();
+      reflector = new Reflector(type);
+      ClassReference reference = new ClassReference(type, unloaded);
+      slot.reflector = reflector;
+      slot.reference = reference;
+      cached.add(reference);
+      size.incrementAndGet();
+    }
+    expungeUnloaded();
+    while (size.get() > maxSize && evictOldest()) {
+      // keep evicting
+    }
+    return reflector;
+  }
+
+  /**
+   * Drops the reflector of a class.
+   *
+   * @param type
+   *          the class
+   */
+  public void invalidate(Class<?> type) {
+    Slot slot = slots.get(type);
+    ClassReference reference;
+    synchronized (slot) {
+      reference = slot.reference;
+    }
+    if (reference != null && cached.remove(reference)) {
+      release(reference);
+    }
+  }
+
+  /**
+   * Drops the reflectors of all classes defined by a class loader.
+   *
+   * @param classLoader
+   *          the class loader
+   */
+  public void invalidate(ClassLoader classLoader) {
+    for (Iterator<ClassReference> iterator = cached.iterator(); iterator.hasNext();) {
+      ClassReference reference = iterator.next();
+      Class<?> type = reference.get();
+      if (type != null && type.getClassLoader() == classLoader && cached.remove(reference)) {
+        release(reference);
+      }
+    }
+  }
+
+  /**
+   * Drops all reflectors. The metrics are kept.
+   */
+  public void clear() {
+    ClassReference reference;
+    while ((reference = cached.poll()) != null) {
+      release(reference);
+    }
+  }
+
+  public int size() {
+    expungeUnloaded();
+    return size.get();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Gets the ratio of lookups that found a cached reflector.
+   *
+   * @return the ratio between 0 and 1, or 0 if there was no lookup yet
+   */
+  public double getHitRatio() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  private boolean evictOldest() {
+    ClassReference reference = cached.poll();
+    if (reference == null) {
+      return false;
+    }
+    release(reference);
+    evictions.increment();
+    return true;
+  }
+
+  /**
+   * Detaches a reference that has just been removed from the queue.
+   */
+  private void release(ClassReference reference) {
+    Class<?> type = reference.get();
+    if (type != null) {
+      Slot slot = slots.get(type);
+      synchronized (slot) {
+        if (slot.reference == reference) {
+          slot.reflector = null;
+          slot.reference = null;
+        }
+      }
+    }
+    // a cleared reference is not enqueued, so an unloaded class is not counted twice
+    reference.clear();
+    size.decrementAndGet();
+  }
+
+  private void expungeUnloaded() {
+    Reference<? extends Class<?>> reference;
+    while ((reference = unloaded.poll()) != null) {
+      if (cached.remove(reference)) {
+        size.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Attached to the class, the factory never references a slot strongly.
+   */
+  private static final class Slot {
+    volatile Reflector reflector;
+    ClassReference reference;
+  }
+
+  private static final class ClassReference extends WeakReference<Class<?>> {
+    ClassReference(Class<?> type, ReferenceQueue<Class<?>> queue) {
+      super(type, queue);
+    }
+  }
+}
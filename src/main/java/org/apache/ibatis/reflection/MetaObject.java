@@ -22,9 +22,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import org.apache.ibatis.reflection.factory.ObjectFactory;
-import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaGetInvoker;
+import org.apache.ibatis.reflection.property.CompiledPropertyPath;
 import org.apache.ibatis.reflection.wrapper.BeanWrapper;
 import org.apache.ibatis.reflection.wrapper.CollectionWrapper;
+import org.apache.ibatis.reflection.wrapper.CompiledObjectWrapperFactory;
 import org.apache.ibatis.reflection.wrapper.MapWrapper;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
@@ -34,29 +37,38 @@ import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
  */
 public class MetaObject {
 
-  private final Object originalObject;
-  private final ObjectWrapper objectWrapper;
+  private static final Object[] NO_ARGUMENTS = {};
+
+  private Object originalObject;
+  private ObjectWrapper objectWrapper;
   private final ObjectFactory objectFactory;
   private final ObjectWrapperFactory objectWrapperFactory;
   private final ReflectorFactory reflectorFactory;
+  private boolean walkable;
+  private final boolean reusable;
 
   private MetaObject(Object object, ObjectFactory objectFactory, ObjectWrapperFactory objectWrapperFactory,
-      ReflectorFactory reflectorFactory) {
+      ReflectorFactory reflectorFactory, boolean reusable) {
     this.originalObject = object;
     this.objectFactory = objectFactory;
     this.objectWrapperFactory = objectWrapperFactory;
     this.reflectorFactory = reflectorFactory;
+    this.reusable = reusable;
+    this.objectWrapper = newObjectWrapper(object);
+    this.walkable = isWalkable(object);
+  }
 
+  private ObjectWrapper newObjectWrapper(Object object) {
     if (object instanceof ObjectWrapper) {
-      this.objectWrapper = (ObjectWrapper) object;
+      return (ObjectWrapper) object;
     } else if (objectWrapperFactory.hasWrapperFor(object)) {
-      this.objectWrapper = objectWrapperFactory.getWrapperFor(this, object);
+      return objectWrapperFactory.getWrapperFor(this, object);
     } else if (object instanceof Map) {
-      this.objectWrapper = new MapWrapper(this, (Map) object);
+      return new MapWrapper(this, (Map) object);
     } else if (object instanceof Collection) {
-      this.objectWrapper = new CollectionWrapper(this, (Collection) object);
+      return new CollectionWrapper(this, (Collection) object);
     } else {
-      this.objectWrapper = new BeanWrapper(this, object);
+      return new BeanWrapper(this, object);
     }
   }
 
@@ -65,7 +77,57 @@ public class MetaObject {
     if (object == null) {
       return SystemMetaObject.NULL_META_OBJECT;
     }
-    return new MetaObject(object, objectFactory, objectWrapperFactory, reflectorFactory);
+    return new MetaObject(object, objectFactory, objectWrapperFactory, reflectorFactory, false);
+  }
+
+  /**
+   * Creates a meta object that can be pointed at other objects with {@link #rebind(Object)}, e.g. one per result type
+   * and statement that is reused for every row. Such a meta object is not thread safe and must not be shared.
+   *
+   * @param object
+   *          the first object, not null
+   * @param objectFactory
+   *          the object factory
+   * @param objectWrapperFactory
+   *          the object wrapper factory
+   * @param reflectorFactory
+   *          the reflector factory
+   *
+   * @return the meta object
+   */
+  public static MetaObject forReusableObject(Object object, ObjectFactory objectFactory,
+      ObjectWrapperFactory objectWrapperFactory, ReflectorFactory reflectorFactory) {
+    if (object == null) {
+      throw new ReflectionException("Cannot create a reusable meta object for a null object.");
+    }
+    return new MetaObject(object, objectFactory, objectWrapperFactory, reflectorFactory, true);
+  }
+
+  /**
+   * Points this meta object at another object. When the object has the same class as the current one, the wrapper and
+   * the metadata it resolved are kept and nothing is allocated; otherwise a new wrapper is created.
+   *
+   * @param object
+   *          the new object, not null
+   *
+   * @return this meta object
+   *
+   * @see #forReusableObject(Object, ObjectFactory, ObjectWrapperFactory, ReflectorFactory)
+   */
+  public MetaObject rebind(Object object) {
+    if (!reusable) {
+      throw new ReflectionException("This meta object cannot be rebound, use MetaObject.forReusableObject().");
+    }
+    if (object == null) {
+      throw new ReflectionException("Cannot rebind a meta object to a null object.");
+    }
+    if (object.getClass() != originalObject.getClass() || object instanceof ObjectWrapper
+        || !objectWrapper.rebind(object)) {
+      objectWrapper = newObjectWrapper(object);
+      walkable = isWalkable(object);
+    }
+    originalObject = object;
+    return this;
   }
 
   public ObjectFactory getObjectFactory() {
@@ -121,12 +183,68 @@ public class MetaObject {
   }
 
   public Object getValue(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
-    return objectWrapper.get(prop);
+    CompiledPropertyPath path = CompiledPropertyPath.compile(name);
+    if (!walkable || path.isSimple()) {
+      return objectWrapper.get(path.getTokenizer());
+    }
+    return getValue(path);
   }
 
   public void setValue(String name, Object value) {
-    objectWrapper.set(new PropertyTokenizer(name), value);
+    objectWrapper.set(CompiledPropertyPath.compile(name).getTokenizer(), value);
+  }
+
+  /**
+   * Walks a nested path directly over maps and beans, without creating a MetaObject for each intermediate value.
+   * Values that need any other wrapper are handed over to it for the rest of the path.
+   */
+  private Object getValue(CompiledPropertyPath path) {
+    Object current = originalObject;
+    for (int i = 0; i < path.size(); i++) {
+      CompiledPropertyPath.Segment segment = path.segment(i);
+      if (i > 0) {
+        if (current == null) {
+          return null;
+        }
+        if (!isWalkable(current)) {
+          return MetaObject.forObject(current, objectFactory, objectWrapperFactory, reflectorFactory).objectWrapper
+              .get(segment.getTokenizer());
+        }
+      }
+      Object value = segment.getIndex() == null || !segment.getName().isEmpty() ? getPropertyValue(segment, current)
+          : current;
+      current = segment.getIndex() == null ? value : segment.getCollectionValue(value);
+    }
+    return current;
+  }
+
+  private Object getPropertyValue(CompiledPropertyPath.Segment segment, Object object) {
+    if (object instanceof Map) {
+      return ((Map<?, ?>) object).get(segment.getName());
+    }
+    try {
+      Invoker method = segment.getGetInvoker(object.getClass(), reflectorFactory);
+      try {
+        if (method instanceof LambdaGetInvoker) {
+          return ((LambdaGetInvoker) method).get(object);
+        }
+        return method.invoke(object, NO_ARGUMENTS);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not get property '" + segment.getName() + "' from " + object.getClass()
+          + ".  Cause: " + t.toString(), t);
+    }
+  }
+
+  private boolean isWalkable(Object object) {
+    // the compiled bean wrapper reads beans through the same reflector getters as the walk
+    return !(object instanceof ObjectWrapper)
+        && (objectWrapperFactory instanceof CompiledObjectWrapperFactory || !objectWrapperFactory.hasWrapperFor(object))
+        && (object instanceof Map || !(object instanceof Collection));
   }
 
   public MetaObject metaObjectForProperty(String name) {
@@ -0,0 +1,123 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.Locale;
+
+/**
+ * Resolves column labels to property slots ignoring case and, optionally, underscores.
+ * <p>
+ * Property names are folded with {@code toUpperCase(Locale.ENGLISH)}, like the case-insensitive property lookups
+ * elsewhere, and hashed once into an open-addressing table. A lookup of an ASCII label folds its case while hashing and
+ * comparing, so it takes a single probe sequence and allocates nothing. Other labels are folded the same way as the
+ * names first.
+ */
+final class PropertyNameTable {
+
+  private final String[] keys;
+  private final int[] slots;
+  private final int mask;
+
+  /**
+   * Builds the table. When two names only differ by case, the one added last wins.
+   *
+   * @param propertyNames
+   *          the names in insertion order
+   * @param propertySlots
+   *          the slot of each name
+   */
+  PropertyNameTable(String[] propertyNames, int[] propertySlots) {
+    int capacity = Integer.highestOneBit(Math.max(propertyNames.length, 1) * 2 + 1) << 1;
+    this.keys = new String[capacity];
+    this.slots = new int[capacity];
+    this.mask = capacity - 1;
+    for (int i = 0; i < propertyNames.length; i++) {
+      String key = propertyNames[i].toUpperCase(Locale.ENGLISH);
+      int bucket = hash(key, false) & mask;
+      while (keys[bucket] != null && !keys[bucket].equals(key)) {
+        bucket = bucket + 1 & mask;
+      }
+      keys[bucket] = key;
+      slots[bucket] = propertySlots[i];
+    }
+  }
+
+  /**
+   * Finds the slot of the property matching a column label.
+   *
+   * @param label
+   *          the column label
+   * @param ignoreUnderscores
+   *          whether underscores in the label are skipped, as in {@code mapUnderscoreToCamelCase}
+   *
+   * @return the slot, or -1 if no property matches
+   */
+  int find(String label, boolean ignoreUnderscores) {
+    if (!isAscii(label)) {
+      label = label.toUpperCase(Locale.ENGLISH);
+    }
+    for (int bucket = hash(label, ignoreUnderscores) & mask; keys[bucket] != null; bucket = bucket + 1 & mask) {
+      if (matches(keys[bucket], label, ignoreUnderscores)) {
+        return slots[bucket];
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isAscii(String s) {
+    for (int i = 0, n = s.length(); i < n; i++) {
+      if (s.charAt(i) >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Folds the case of an ASCII letter. Other characters are either already folded or left alone, as
+   * {@code toUpperCase(Locale.ENGLISH)} leaves them.
+   */
+  private static char fold(char c) {
+    return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+  }
+
+  private static int hash(String s, boolean ignoreUnderscores) {
+    int h = 0;
+    for (int i = 0, n = s.length(); i < n; i++) {
+      char c = s.charAt(i);
+      if (c != '_' || !ignoreUnderscores) {
+        h = 31 * h + fold(c);
+      }
+    }
+    return h ^ h >>> 16;
+  }
+
+  private static boolean matches(String key, String label, boolean ignoreUnderscores) {
+    int n = key.length();
+    int j = 0;
+    for (int i = 0, m = label.length(); i < m; i++) {
+      char c = label.charAt(i);
+      if (c == '_' && ignoreUnderscores) {
+        continue;
+      }
+      if (j == n || fold(c) != key.charAt(j)) {
+        return false;
+      }
+      j++;
+    }
+    return j == n;
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.property.CompiledPropertyPath;
+
+/**
+ * Resolves the types of nested properties such as {@code order.customer.name} from the declared types of the
+ * intermediate properties, without reading any value.
+ * <p>
+ * Resolutions are cached per root class. A path is marked dynamic when one of its hops is declared as {@code Object},
+ * a {@link Map}, a {@link Collection} or an array, or cannot be resolved on the declared type; only then do callers
+ * need to inspect the actual values.
+ */
+public final class PropertyPathResolver {
+
+  private static final int MAX_PATHS_PER_CLASS = 256;
+
+  private static final ClassValue<ConcurrentMap<String, Resolution>> resolutions = new ClassValue<>() {
+    @Override
+    protected ConcurrentMap<String, Resolution> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private PropertyPathResolver() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Resolves a property path against a class.
+   *
+   * @param type
+   *          the class owning the first property of the path
+   * @param path
+   *          the property path
+   * @param reflectorFactory
+   *          the factory providing the reflectors of the classes along the path
+   *
+   * @return the resolution, {@link Resolution#isDynamic() dynamic} if the path depends on the actual values
+   */
+  public static Resolution resolve(Class<?> type, String path, ReflectorFactory reflectorFactory) {
+    ConcurrentMap<String, Resolution> paths = resolutions.get(type);
+    Resolution resolution = paths.get(path);
+    if (resolution == null) {
+      resolution = compute(type, CompiledPropertyPath.compile(path), reflectorFactory);
+      if (paths.size() < MAX_PATHS_PER_CLASS) {
+        Resolution existing = paths.putIfAbsent(path, resolution);
+        if (existing != null) {
+          resolution = existing;
+        }
+      }
+    }
+    return resolution;
+  }
+
+  private static Resolution compute(Class<?> type, CompiledPropertyPath path, ReflectorFactory reflectorFactory) {
+    int last = path.size() - 1;
+    Invoker[] getInvokers = new Invoker[last];
+    boolean intermediateSetters = true;
+    Class<?> current = type;
+    for (int i = 0; i < last; i++) {
+      CompiledPropertyPath.Segment segment = path.segment(i);
+      if (isDynamic(current)) {
+        return Resolution.DYNAMIC;
+      }
+      Reflector reflector = reflectorFactory.findForClass(current);
+      String name = segment.getName();
+      if (name.isEmpty() || !reflector.hasGetter(name)) {
+        return Resolution.DYNAMIC;
+      }
+      getInvokers[i] = reflector.getGetInvoker(name);
+      intermediateSetters &= reflector.hasSetter(name);
+      Entry<Type, Class<?>> getterType = reflector.getGenericGetterType(name);
+      current = segment.getIndex() == null ? getterType.getValue() : elementType(getterType.getKey());
+      if (current == null) {
+        return Resolution.DYNAMIC;
+      }
+    }
+    if (isDynamic(current)) {
+      return Resolution.DYNAMIC;
+    }
+    Reflector reflector = reflectorFactory.findForClass(current);
+    CompiledPropertyPath.Segment segment = path.segment(last);
+    String name = segment.getName();
+    Entry<Type, Class<?>> setterType = reflector.hasSetter(name) ? reflector.getGenericSetterType(name) : null;
+    Entry<Type, Class<?>> getterType = reflector.hasGetter(name) && segment.getIndex() == null
+        ? reflector.getGenericGetterType(name) : null;
+    return new Resolution(getInvokers, intermediateSetters, setterType, reflector.hasGetter(name), getterType);
+  }
+
+  private static boolean isDynamic(Class<?> type) {
+    return type == Object.class || type.isArray() || Map.class.isAssignableFrom(type)
+        || Collection.class.isAssignableFrom(type);
+  }
+
+  private static Class<?> elementType(Type collectionType) {
+    if (collectionType instanceof ParameterizedType) {
+      ParameterizedType parameterizedType = (ParameterizedType) collectionType;
+      Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+      if (parameterizedType.getRawType() instanceof Class
+          && Collection.class.isAssignableFrom((Class<?>) parameterizedType.getRawType())
+          && actualTypeArguments.length == 1) {
+        Type elementType = actualTypeArguments[0];
+        if (elementType instanceof Class) {
+          return (Class<?>) elementType;
+        }
+        if (elementType instanceof ParameterizedType) {
+          return (Class<?>) ((ParameterizedType) elementType).getRawType();
+        }
+      }
+    }
+    return null;
+  }
+
+  public static final class Resolution {
+
+    static final Resolution DYNAMIC = new Resolution(null, false, null, false, null);
+
+    private final Invoker[] getInvokers;
+    private final boolean intermediateSetters;
+    private final Entry<Type, Class<?>> setterType;
+    private final boolean hasGetter;
+    private final Entry<Type, Class<?>> getterType;
+
+    private Resolution(Invoker[] getInvokers, boolean intermediateSetters, Entry<Type, Class<?>> setterType,
+        boolean hasGetter, Entry<Type, Class<?>> getterType) {
+      this.getInvokers = getInvokers;
+      this.intermediateSetters = intermediateSetters;
+      this.setterType = setterType;
+      this.hasGetter = hasGetter;
+      this.getterType = getterType;
+    }
+
+    /**
+     * Checks whether the path could only be resolved by looking at the actual values.
+     *
+     * @return true if the other methods carry no information
+     */
+    public boolean isDynamic() {
+      return getInvokers == null;
+    }
+
+    /**
+     * Checks whether every property along the path is writable, as required to set the last one.
+     *
+     * @return true if the path can be set
+     */
+    public boolean hasSetter() {
+      return intermediateSetters && setterType != null;
+    }
+
+    public boolean hasGetter() {
+      return hasGetter;
+    }
+
+    /**
+     * Gets the setter type of the last property.
+     *
+     * @return the type, or null if it could not be resolved from the declared types
+     */
+    public Entry<Type, Class<?>> getSetterType() {
+      return setterType;
+    }
+
+    /**
+     * Gets the getter type of the last property.
+     *
+     * @return the type, or null if it could not be resolved from the declared types
+     */
+    public Entry<Type, Class<?>> getGetterType() {
+      return getterType;
+    }
+
+    /**
+     * Gets the getters of the intermediate properties, in path order.
+     *
+     * @param index
+     *          the hop, from 0 to the number of segments minus 2
+     *
+     * @return the getter
+     */
+    public Invoker getGetInvoker(int index) {
+      return getInvokers[index];
+    }
+  }
+}
@@ -22,6 +22,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
@@ -34,13 +35,21 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.ibatis.reflection.invoker.AmbiguousMethodInvoker;
+import org.apache.ibatis.reflection.invoker.DoubleGetter;
+import org.apache.ibatis.reflection.invoker.DoubleSetter;
 import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
+import org.apache.ibatis.reflection.invoker.IntGetter;
+import org.apache.ibatis.reflection.invoker.IntSetter;
 import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaInvokerFactory;
+import org.apache.ibatis.reflection.invoker.LongGetter;
+import org.apache.ibatis.reflection.invoker.LongSetter;
 import org.apache.ibatis.reflection.invoker.MethodInvoker;
 import org.apache.ibatis.reflection.invoker.SetFieldInvoker;
 import org.apache.ibatis.reflection.property.PropertyNamer;
@@ -62,35 +71,107 @@ public class Reflector {
   private final Map<String, Invoker> getMethods = new HashMap<>();
   private final Map<String, Entry<Type, Class<?>>> setTypes = new HashMap<>();
   private final Map<String, Entry<Type, Class<?>>> getTypes = new HashMap<>();
+  private final Map<String, Member> setMembers = new HashMap<>();
+  private final Map<String, Member> getMembers = new HashMap<>();
   private Constructor<?> defaultConstructor;
-
-  private final Map<String, String> caseInsensitivePropertyMap = new HashMap<>();
+  private boolean snapshotable = true;
+  // primitive accessors are compiled on first use, NO_ACCESSOR marks existing properties that have none
+  private final ConcurrentMap<String, Object> primitiveGetters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Object> primitiveSetters = new ConcurrentHashMap<>();
+
+  private final Map<String, Integer> propertyIndexes = new HashMap<>();
+  private final String[] propertyNames;
+  // compiled invokers by slot, filled on first use
+  private final Invoker[] getInvokers;
+  private final Invoker[] setInvokers;
+  private final Class<?>[] getterTypes;
+  private final Class<?>[] setterTypes;
+  private final PropertyNameTable propertyNameTable;
 
   private static final Entry<Type, Class<?>> nullEntry = new AbstractMap.SimpleImmutableEntry<>(null, null);
+  private static final Object NO_ACCESSOR = new Object();
 
   public Reflector(Type type) {
+    this(type, null);
+  }
+
+  /**
+   * Builds the reflector either by scanning the class or, when a snapshot entry is given, by looking up only the
+   * members recorded in it.
+   */
+  Reflector(Type type, ReflectorSnapshot.ClassEntry snapshot) {
     this.type = type;
     if (type instanceof ParameterizedType) {
       this.clazz = (Class<?>) ((ParameterizedType) type).getRawType();
     } else {
       this.clazz = (Class<?>) type;
     }
-    addDefaultConstructor(clazz);
-    Method[] classMethods = getClassMethods(clazz);
-    if (isRecord(clazz)) {
-      addRecordGetMethods(classMethods);
+    if (snapshot != null) {
+      addSnapshotMembers(snapshot);
     } else {
-      addGetMethods(classMethods);
-      addSetMethods(classMethods);
-      addFields(clazz);
+      addDefaultConstructor(clazz);
+      Method[] classMethods = getClassMethods(clazz);
+      if (isRecord(clazz)) {
+        addRecordGetMethods(classMethods);
+      } else {
+        addGetMethods(classMethods);
+        addSetMethods(classMethods);
+        addFields(clazz);
+      }
     }
     readablePropertyNames = getMethods.keySet().toArray(new String[0]);
     writablePropertyNames = setMethods.keySet().toArray(new String[0]);
     for (String propName : readablePropertyNames) {
-      caseInsensitivePropertyMap.put(propName.toUpperCase(Locale.ENGLISH), propName);
+      propertyIndexes.putIfAbsent(propName, propertyIndexes.size());
     }
     for (String propName : writablePropertyNames) {
-      caseInsensitivePropertyMap.put(propName.toUpperCase(Locale.ENGLISH), propName);
+      propertyIndexes.putIfAbsent(propName, propertyIndexes.size());
+    }
+    int count = propertyIndexes.size();
+    propertyNames = new String[count];
+    getInvokers = new Invoker[count];
+    setInvokers = new Invoker[count];
+    getterTypes = new Class<?>[count];
+    setterTypes = new Class<?>[count];
+    for (Entry<String, Integer> entry : propertyIndexes.entrySet()) {
+      String propName = entry.getKey();
+      int slot = entry.getValue();
+      propertyNames[slot] = propName;
+      getterTypes[slot] = getTypes.getOrDefault(propName, nullEntry).getValue();
+      setterTypes[slot] = setTypes.getOrDefault(propName, nullEntry).getValue();
+    }
+    String[] tableNames = new String[readablePropertyNames.length + writablePropertyNames.length];
+    System.arraycopy(readablePropertyNames, 0, tableNames, 0, readablePropertyNames.length);
+    System.arraycopy(writablePropertyNames, 0, tableNames, readablePropertyNames.length, writablePropertyNames.length);
+    int[] tableSlots = new int[tableNames.length];
+    for (int i = 0; i < tableNames.length; i++) {
+      tableSlots[i] = propertyIndexes.get(tableNames[i]);
+    }
+    propertyNameTable = new PropertyNameTable(tableNames, tableSlots);
+  }
+
+  private void addSnapshotMembers(ReflectorSnapshot.ClassEntry snapshot) {
+    try {
+      if (snapshot.hasDefaultConstructor()) {
+        defaultConstructor = clazz.getDeclaredConstructor();
+      }
+      for (ReflectorSnapshot.PropertyEntry property : snapshot.getProperties()) {
+        Member getter = property.resolveGetter(clazz.getClassLoader());
+        if (getter instanceof Method) {
+          addGetMethod(property.getName(), (Method) getter, false);
+        } else if (getter instanceof Field) {
+          addGetField((Field) getter);
+        }
+        Member setter = property.resolveSetter(clazz.getClassLoader());
+        if (setter instanceof Method) {
+          addSetMethod(property.getName(), (Method) setter);
+        } else if (setter instanceof Field) {
+          addSetField((Field) setter);
+        }
+      }
+    } catch (ReflectiveOperationException e) {
+      throw new ReflectionException("Could not restore the reflector of " + clazz + " from a snapshot.  Cause: " + e,
+          e);
     }
   }
 
@@ -146,11 +227,13 @@ public class Reflector {
   }
 
   private void addGetMethod(String name, Method method, boolean isAmbiguous) {
-    MethodInvoker invoker = isAmbiguous ? new AmbiguousMethodInvoker(method, MessageFormat.format(
+    Invoker invoker = isAmbiguous ? new AmbiguousMethodInvoker(method, MessageFormat.format(
         "Illegal overloaded getter method with ambiguous type for property ''{0}'' in class ''{1}''. This breaks the JavaBeans specification and can cause unpredictable results.",
         name, method.getDeclaringClass().getName())) : new MethodInvoker(method);
     getMethods.put(name, invoker);
-    Type returnType = TypeParameterResolver.resolveReturnType(method, type);
+    getMembers.put(name, method);
+    snapshotable &= !isAmbiguous;
+    Type returnType = TypeResolutionCache.resolveReturnType(method, type);
     getTypes.put(name, Map.entry(returnType, typeToClass(returnType)));
   }
 
@@ -210,15 +293,17 @@ public class Reflector {
             "Ambiguous setters defined for property ''{0}'' in class ''{1}'' with types ''{2}'' and ''{3}''.", property,
             setter2.getDeclaringClass().getName(), paramType1.getName(), paramType2.getName()));
     setMethods.put(property, invoker);
-    Type[] paramTypes = TypeParameterResolver.resolveParamTypes(setter1, type);
+    setMembers.put(property, setter1);
+    snapshotable = false;
+    Type[] paramTypes = TypeResolutionCache.resolveParamTypes(setter1, type);
     setTypes.put(property, Map.entry(paramTypes[0], typeToClass(paramTypes[0])));
     return null;
   }
 
   private void addSetMethod(String name, Method method) {
-    MethodInvoker invoker = new MethodInvoker(method);
-    setMethods.put(name, invoker);
-    Type[] paramTypes = TypeParameterResolver.resolveParamTypes(method, type);
+    setMethods.put(name, new MethodInvoker(method));
+    setMembers.put(name, method);
+    Type[] paramTypes = TypeResolutionCache.resolveParamTypes(method, type);
     setTypes.put(name, Map.entry(paramTypes[0], typeToClass(paramTypes[0])));
   }
 
@@ -263,7 +348,8 @@ public class Reflector {
   private void addSetField(Field field) {
     if (isValidPropertyName(field.getName())) {
       setMethods.put(field.getName(), new SetFieldInvoker(field));
-      Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
+      setMembers.put(field.getName(), field);
+      Type fieldType = TypeResolutionCache.resolveFieldType(field, type);
       setTypes.put(field.getName(), Map.entry(fieldType, typeToClass(fieldType)));
     }
   }
@@ -271,7 +357,8 @@ public class Reflector {
   private void addGetField(Field field) {
     if (isValidPropertyName(field.getName())) {
       getMethods.put(field.getName(), new GetFieldInvoker(field));
-      Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
+      getMembers.put(field.getName(), field);
+      Type fieldType = TypeResolutionCache.resolveFieldType(field, type);
       getTypes.put(field.getName(), Map.entry(fieldType, typeToClass(fieldType)));
     }
   }
@@ -375,20 +462,125 @@ public class Reflector {
     return defaultConstructor != null;
   }
 
+  Member getGetterMember(String propertyName) {
+    return getMembers.get(propertyName);
+  }
+
+  Member getSetterMember(String propertyName) {
+    return setMembers.get(propertyName);
+  }
+
+  /**
+   * Checks whether this reflector can be restored from a snapshot. Classes with ambiguous accessors cannot, as the
+   * error they report depends on the full scan.
+   */
+  boolean isSnapshotable() {
+    return snapshotable;
+  }
+
   public Invoker getSetInvoker(String propertyName) {
-    Invoker method = setMethods.get(propertyName);
-    if (method == null) {
+    Integer index = propertyIndexes.get(propertyName);
+    if (index == null || setterTypes[index] == null) {
       throw new ReflectionException("There is no setter for property named '" + propertyName + "' in '" + clazz + "'");
     }
-    return method;
+    return getSetInvoker(index);
   }
 
   public Invoker getGetInvoker(String propertyName) {
-    Invoker method = getMethods.get(propertyName);
-    if (method == null) {
+    Integer index = propertyIndexes.get(propertyName);
+    if (index == null || getterTypes[index] == null) {
       throw new ReflectionException("There is no getter for property named '" + propertyName + "' in '" + clazz + "'");
     }
-    return method;
+    return getGetInvoker(index);
+  }
+
+  /**
+   * Gets an accessor that reads an {@code int} property without boxing.
+   *
+   * @param propertyName
+   *          - the name of the property
+   *
+   * @return the accessor, or {@code null} if the property is not a compilable {@code int} getter
+   */
+  public IntGetter getIntGetter(String propertyName) {
+    Object getter = getPrimitiveGetter(propertyName);
+    return getter instanceof IntGetter ? (IntGetter) getter : null;
+  }
+
+  public LongGetter getLongGetter(String propertyName) {
+    Object getter = getPrimitiveGetter(propertyName);
+    return getter instanceof LongGetter ? (LongGetter) getter : null;
+  }
+
+  public DoubleGetter getDoubleGetter(String propertyName) {
+    Object getter = getPrimitiveGetter(propertyName);
+    return getter instanceof DoubleGetter ? (DoubleGetter) getter : null;
+  }
+
+  /**
+   * Gets an accessor that writes an {@code int} property without boxing or allocating an argument array.
+   *
+   * @param propertyName
+   *          - the name of the property
+   *
+   * @return the accessor, or {@code null} if the property is not a compilable {@code int} setter
+   */
+  public IntSetter getIntSetter(String propertyName) {
+    Object setter = getPrimitiveSetter(propertyName);
+    return setter instanceof IntSetter ? (IntSetter) setter : null;
+  }
+
+  public LongSetter getLongSetter(String propertyName) {
+    Object setter = getPrimitiveSetter(propertyName);
+    return setter instanceof LongSetter ? (LongSetter) setter : null;
+  }
+
+  public DoubleSetter getDoubleSetter(String propertyName) {
+    Object setter = getPrimitiveSetter(propertyName);
+    return setter instanceof DoubleSetter ? (DoubleSetter) setter : null;
+  }
+
+  private Object getPrimitiveGetter(String propertyName) {
+    Object getter = primitiveGetters.get(propertyName);
+    if (getter == null) {
+      Member member = getMembers.get(propertyName);
+      if (member == null) {
+        // unknown names are not cached, otherwise arbitrary names would grow the map without bound
+        return NO_ACCESSOR;
+      }
+      getter = newPrimitiveAccessor(member, getMethods.get(propertyName), false);
+      primitiveGetters.putIfAbsent(propertyName, getter);
+    }
+    return getter;
+  }
+
+  private Object getPrimitiveSetter(String propertyName) {
+    Object setter = primitiveSetters.get(propertyName);
+    if (setter == null) {
+      Member member = setMembers.get(propertyName);
+      if (member == null) {
+        return NO_ACCESSOR;
+      }
+      setter = newPrimitiveAccessor(member, setMethods.get(propertyName), true);
+      primitiveSetters.putIfAbsent(propertyName, setter);
+    }
+    return setter;
+  }
+
+  private static Object newPrimitiveAccessor(Member member, Invoker invoker, boolean setter) {
+    if (invoker instanceof AmbiguousMethodInvoker) {
+      return NO_ACCESSOR;
+    }
+    Class<?> propertyType = invoker.getType();
+    Object accessor = null;
+    if (propertyType == int.class) {
+      accessor = setter ? LambdaInvokerFactory.forIntSetter(member) : LambdaInvokerFactory.forIntGetter(member);
+    } else if (propertyType == long.class) {
+      accessor = setter ? LambdaInvokerFactory.forLongSetter(member) : LambdaInvokerFactory.forLongGetter(member);
+    } else if (propertyType == double.class) {
+      accessor = setter ? LambdaInvokerFactory.forDoubleSetter(member) : LambdaInvokerFactory.forDoubleGetter(member);
+    }
+    return accessor == null ? NO_ACCESSOR : accessor;
   }
 
   /**
@@ -478,7 +670,131 @@ public class Reflector {
   }
 
   public String findPropertyName(String name) {
-    return caseInsensitivePropertyMap.get(name.toUpperCase(Locale.ENGLISH));
+    return findPropertyName(name, false);
+  }
+
+  /**
+   * Finds the property matching a column label, ignoring case and, when {@code useCamelCaseMapping} is set,
+   * underscores. The lookup does not allocate, which matters as it may run for every column of every row.
+   *
+   * @param name
+   *          - the column label or property name
+   * @param useCamelCaseMapping
+   *          - whether underscores are ignored, e.g. {@code USER_NAME} matching {@code userName}
+   *
+   * @return The property name, or null if there is none
+   */
+  public String findPropertyName(String name, boolean useCamelCaseMapping) {
+    int index = propertyNameTable.find(name, useCamelCaseMapping);
+    return index < 0 ? null : propertyNames[index];
+  }
+
+  /**
+   * Same as {@link #findPropertyName(String, boolean)}, but returns the slot of the property.
+   *
+   * @param name
+   *          - the column label or property name
+   * @param useCamelCaseMapping
+   *          - whether underscores are ignored
+   *
+   * @return The slot of the property, or -1 if there is none
+   */
+  public int findPropertyIndex(String name, boolean useCamelCaseMapping) {
+    return propertyNameTable.find(name, useCamelCaseMapping);
+  }
+
+  /**
+   * Gets the slot of a property. Slots are assigned once when the reflector is built and stay stable for its lifetime,
+   * so callers can resolve a property name once and then use the int based accessors below.
+   *
+   * @param propertyName
+   *          - the name of the property
+   *
+   * @return The slot of the property, or -1 if the class has neither a getter nor a setter by that name
+   */
+  public int propertyIndex(String propertyName) {
+    Integer index = propertyIndexes.get(propertyName);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Gets the number of property slots, i.e. the number of distinct readable or writable properties.
+   *
+   * @return The number of slots
+   */
+  public int getPropertyCount() {
+    return propertyNames.length;
+  }
+
+  public String getPropertyName(int index) {
+    return propertyNames[index];
+  }
+
+  public boolean hasGetter(int index) {
+    return getterTypes[index] != null;
+  }
+
+  public boolean hasSetter(int index) {
+    return setterTypes[index] != null;
+  }
+
+  public Invoker getGetInvoker(int index) {
+    Invoker method = getInvokers[index];
+    if (method == null) {
+      String propName = propertyNames[index];
+      if (getterTypes[index] == null) {
+        throw new ReflectionException("There is no getter for property named '" + propName + "' in '" + clazz + "'");
+      }
+      method = compileInvoker(getMembers.get(propName), getMethods.get(propName), false);
+      getInvokers[index] = method;
+    }
+    return method;
+  }
+
+  public Invoker getSetInvoker(int index) {
+    Invoker method = setInvokers[index];
+    if (method == null) {
+      String propName = propertyNames[index];
+      if (setterTypes[index] == null) {
+        throw new ReflectionException("There is no setter for property named '" + propName + "' in '" + clazz + "'");
+      }
+      method = compileInvoker(setMembers.get(propName), setMethods.get(propName), true);
+      setInvokers[index] = method;
+    }
+    return method;
+  }
+
+  /**
+   * Compiles the accessor of a property on first use, so that building a reflector does not define a class for every
+   * property. Ambiguous accessors are kept as they are, they fail when invoked. The invokers are immutable, a race only
+   * compiles the same accessor twice.
+   */
+  private static Invoker compileInvoker(Member member, Invoker invoker, boolean setter) {
+    if (invoker instanceof AmbiguousMethodInvoker) {
+      return invoker;
+    }
+    if (member instanceof Method) {
+      return setter ? LambdaInvokerFactory.forSetter((Method) member) : LambdaInvokerFactory.forGetter((Method) member);
+    }
+    return setter ? LambdaInvokerFactory.forSetField((Field) member) : LambdaInvokerFactory.forGetField((Field) member);
+  }
+
+  public Class<?> getGetterType(int index) {
+    Class<?> type = getterTypes[index];
+    if (type == null) {
+      throw new ReflectionException(
+          "There is no getter for property named '" + propertyNames[index] + "' in '" + clazz + "'");
+    }
+    return type;
+  }
+
+  public Class<?> getSetterType(int index) {
+    Class<?> type = setterTypes[index];
+    if (type == null) {
+      throw new ReflectionException(
+          "There is no setter for property named '" + propertyNames[index] + "' in '" + clazz + "'");
+    }
+    return type;
   }
 
   /**
@@ -0,0 +1,348 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * A compact, persistable copy of the property model resolved by {@link Reflector}s.
+ * <p>
+ * For every class it records the property names, the identity of the winning getter and setter members and whether a
+ * default constructor exists. Restoring a reflector from it looks up just those members instead of scanning and
+ * resolving the whole class hierarchy. Generic types are not stored; they are resolved from the restored members as
+ * usual. Each entry carries a checksum over the class files of the hierarchy and is ignored once they change. The
+ * checksum covers the bytes of each class file, so a snapshot stays valid when the same classes are deployed elsewhere.
+ * It is computed once per loaded class, so shared base classes are only read once.
+ *
+ * @see SnapshotReflectorFactory
+ */
+public class ReflectorSnapshot {
+
+  private static final int MAGIC = 0x4D425253;
+  private static final int VERSION = 1;
+
+  private static final byte NONE = 0;
+  private static final byte METHOD = 1;
+  private static final byte FIELD = 2;
+
+  private static final ClassValue<Long> CLASS_FILE_HASHES = new ClassValue<>() {
+    @Override
+    protected Long computeValue(Class<?> type) {
+      return classFileHash(type);
+    }
+  };
+
+  private final Map<String, ClassEntry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the entry of a class, provided that its class files did not change since the entry was recorded.
+   *
+   * @param type
+   *          the class
+   *
+   * @return the entry or {@code null}
+   */
+  public ClassEntry get(Class<?> type) {
+    ClassEntry entry = entries.get(type.getName());
+    if (entry == null || entry.hash != hash(type)) {
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Records the property model of a reflector. Reflectors whose class files cannot be read or whose accessors are
+   * ambiguous are skipped.
+   *
+   * @param reflector
+   *          the reflector
+   */
+  public void put(Reflector reflector) {
+    Class<?> type = reflector.getType();
+    if (!reflector.isSnapshotable()) {
+      return;
+    }
+    long hash = hash(type);
+    if (hash == 0) {
+      return;
+    }
+    Set<String> names = new LinkedHashSet<>();
+    names.addAll(Arrays.asList(reflector.getGetablePropertyNames()));
+    names.addAll(Arrays.asList(reflector.getSetablePropertyNames()));
+    PropertyEntry[] properties = new PropertyEntry[names.size()];
+    int i = 0;
+    for (String name : names) {
+      properties[i++] = new PropertyEntry(name, MemberRef.of(reflector.getGetterMember(name)),
+          MemberRef.of(reflector.getSetterMember(name)));
+    }
+    entries.put(type.getName(), new ClassEntry(type.getName(), hash, reflector.hasDefaultConstructor(), properties));
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public static ReflectorSnapshot read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+      throw new IOException("Not a reflector snapshot, or written by an incompatible version.");
+    }
+    ReflectorSnapshot snapshot = new ReflectorSnapshot();
+    int classCount = data.readInt();
+    for (int c = 0; c < classCount; c++) {
+      String className = data.readUTF();
+      long hash = data.readLong();
+      boolean hasDefaultConstructor = data.readBoolean();
+      PropertyEntry[] properties = new PropertyEntry[data.readInt()];
+      for (int p = 0; p < properties.length; p++) {
+        properties[p] = new PropertyEntry(data.readUTF(), MemberRef.read(data), MemberRef.read(data));
+      }
+      snapshot.entries.put(className, new ClassEntry(className, hash, hasDefaultConstructor, properties));
+    }
+    return snapshot;
+  }
+
+  public void write(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    ClassEntry[] snapshotEntries = entries.values().toArray(new ClassEntry[0]);
+    data.writeInt(snapshotEntries.length);
+    for (ClassEntry entry : snapshotEntries) {
+      data.writeUTF(entry.className);
+      data.writeLong(entry.hash);
+      data.writeBoolean(entry.hasDefaultConstructor);
+      data.writeInt(entry.properties.length);
+      for (PropertyEntry property : entry.properties) {
+        data.writeUTF(property.name);
+        MemberRef.write(data, property.getter);
+        MemberRef.write(data, property.setter);
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * Computes a checksum over the class files of a class, its superclasses and their interfaces.
+   *
+   * @return the checksum, or 0 if one of the class files could not be found
+   */
+  static long hash(Class<?> type) {
+    Set<Class<?>> hierarchy = new LinkedHashSet<>();
+    collectHierarchy(type, hierarchy);
+    CRC32C crc = new CRC32C();
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+    for (Class<?> current : hierarchy) {
+      long classHash = CLASS_FILE_HASHES.get(current);
+      if (classHash == 0) {
+        return 0;
+      }
+      buffer.clear();
+      crc.update(buffer.putLong(classHash).flip());
+    }
+    long value = crc.getValue();
+    return value == 0 ? 1 : value;
+  }
+
+  private static long classFileHash(Class<?> type) {
+    CRC32C crc = new CRC32C();
+    crc.update(type.getName().getBytes(StandardCharsets.UTF_8));
+    ClassLoader loader = type.getClassLoader();
+    if (loader == null) {
+      // part of the platform, it only changes with the JVM
+      crc.update(Runtime.version().toString().getBytes(StandardCharsets.UTF_8));
+      return nonZero(crc.getValue());
+    }
+    URL url = loader.getResource(type.getName().replace('.', '/') + ".class");
+    if (url == null) {
+      return 0;
+    }
+    try {
+      crc.update(ByteBuffer.allocate(Long.BYTES).putLong(contentHash(url)).flip());
+    } catch (IOException e) {
+      return 0;
+    }
+    return nonZero(crc.getValue());
+  }
+
+  private static long contentHash(URL url) throws IOException {
+    CRC32C crc = new CRC32C();
+    byte[] buffer = new byte[8192];
+    try (InputStream in = url.openStream()) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        crc.update(buffer, 0, read);
+      }
+    }
+    return nonZero(crc.getValue());
+  }
+
+  private static long nonZero(long value) {
+    return value == 0 ? 1 : value;
+  }
+
+  private static void collectHierarchy(Class<?> type, Set<Class<?>> hierarchy) {
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      if (hierarchy.add(current)) {
+        for (Class<?> anInterface : current.getInterfaces()) {
+          collectHierarchy(anInterface, hierarchy);
+        }
+      }
+    }
+  }
+
+  public static final class ClassEntry {
+    private final String className;
+    private final long hash;
+    private final boolean hasDefaultConstructor;
+    private final PropertyEntry[] properties;
+
+    ClassEntry(String className, long hash, boolean hasDefaultConstructor, PropertyEntry[] properties) {
+      this.className = className;
+      this.hash = hash;
+      this.hasDefaultConstructor = hasDefaultConstructor;
+      this.properties = properties;
+    }
+
+    public String getClassName() {
+      return className;
+    }
+
+    boolean hasDefaultConstructor() {
+      return hasDefaultConstructor;
+    }
+
+    PropertyEntry[] getProperties() {
+      return properties;
+    }
+  }
+
+  static final class PropertyEntry {
+    private final String name;
+    private final MemberRef getter;
+    private final MemberRef setter;
+
+    PropertyEntry(String name, MemberRef getter, MemberRef setter) {
+      this.name = name;
+      this.getter = getter;
+      this.setter = setter;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    Member resolveGetter(ClassLoader loader) throws ReflectiveOperationException {
+      return getter == null ? null : getter.resolve(loader);
+    }
+
+    Member resolveSetter(ClassLoader loader) throws ReflectiveOperationException {
+      return setter == null ? null : setter.resolve(loader);
+    }
+  }
+
+  private static final class MemberRef {
+    private static final Set<Class<?>> PRIMITIVES = new HashSet<>(Arrays.asList(boolean.class, byte.class,
+        char.class, short.class, int.class, long.class, float.class, double.class));
+
+    private final byte kind;
+    private final String declaringClass;
+    private final String name;
+    private final String parameterType;
+
+    private MemberRef(byte kind, String declaringClass, String name, String parameterType) {
+      this.kind = kind;
+      this.declaringClass = declaringClass;
+      this.name = name;
+      this.parameterType = parameterType;
+    }
+
+    static MemberRef of(Member member) {
+      if (member instanceof Method) {
+        Method method = (Method) member;
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        return new MemberRef(METHOD, method.getDeclaringClass().getName(), method.getName(),
+            parameterTypes.length == 0 ? null : parameterTypes[0].getName());
+      }
+      if (member instanceof Field) {
+        return new MemberRef(FIELD, member.getDeclaringClass().getName(), member.getName(), null);
+      }
+      return null;
+    }
+
+    Member resolve(ClassLoader loader) throws ReflectiveOperationException {
+      Class<?> owner = Class.forName(declaringClass, false, loader);
+      if (kind == FIELD) {
+        return owner.getDeclaredField(name);
+      }
+      if (parameterType == null) {
+        return owner.getDeclaredMethod(name);
+      }
+      return owner.getDeclaredMethod(name, classForName(parameterType, loader));
+    }
+
+    private static Class<?> classForName(String name, ClassLoader loader) throws ClassNotFoundException {
+      for (Class<?> primitive : PRIMITIVES) {
+        if (primitive.getName().equals(name)) {
+          return primitive;
+        }
+      }
+      return Class.forName(name, false, loader);
+    }
+
+    static MemberRef read(DataInputStream data) throws IOException {
+      byte kind = data.readByte();
+      if (kind == NONE) {
+        return null;
+      }
+      String declaringClass = data.readUTF();
+      String name = data.readUTF();
+      String parameterType = data.readBoolean() ? data.readUTF() : null;
+      return new MemberRef(kind, declaringClass, name, parameterType);
+    }
+
+    static void write(DataOutputStream data, MemberRef member) throws IOException {
+      if (member == null) {
+        data.writeByte(NONE);
+        return;
+      }
+      data.writeByte(member.kind);
+      data.writeUTF(member.declaringClass);
+      data.writeUTF(member.name);
+      data.writeBoolean(member.parameterType != null);
+      if (member.parameterType != null) {
+        data.writeUTF(member.parameterType);
+      }
+    }
+  }
+}
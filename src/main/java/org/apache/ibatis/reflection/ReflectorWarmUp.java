@@ -0,0 +1,96 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.ibatis.io.ResolverUtil;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Builds {@link Reflector}s ahead of time so that the first statement touching a type does not pay for it.
+ * <p>
+ * Reflectors are built concurrently on a {@link ForkJoinPool} and stored in the given {@link ReflectorFactory}. A type
+ * whose reflector cannot be built is skipped; the same error will be reported when the type is actually used.
+ */
+public final class ReflectorWarmUp {
+
+  private static final Log log = LogFactory.getLog(ReflectorWarmUp.class);
+
+  private ReflectorWarmUp() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Builds the reflectors of the given types on the common fork-join pool.
+   *
+   * @param reflectorFactory
+   *          the factory to populate
+   * @param types
+   *          the types to reflect
+   */
+  public static void warmUp(ReflectorFactory reflectorFactory, Collection<Class<?>> types) {
+    warmUp(reflectorFactory, types, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Builds the reflectors of the given types on the given pool and waits for them to complete.
+   *
+   * @param reflectorFactory
+   *          the factory to populate
+   * @param types
+   *          the types to reflect
+   * @param pool
+   *          the pool to build the reflectors on
+   */
+  public static void warmUp(ReflectorFactory reflectorFactory, Collection<Class<?>> types, ForkJoinPool pool) {
+    if (!reflectorFactory.isClassCacheEnabled() || types.isEmpty()) {
+      return;
+    }
+    pool.submit(() -> types.parallelStream().distinct().filter(ReflectorWarmUp::isReflectable)
+        .forEach(type -> warmUp(reflectorFactory, type))).join();
+  }
+
+  /**
+   * Builds the reflectors of all classes found in a package on the common fork-join pool.
+   *
+   * @param reflectorFactory
+   *          the factory to populate
+   * @param packageName
+   *          the package to scan (sub-packages included)
+   */
+  public static void warmUp(ReflectorFactory reflectorFactory, String packageName) {
+    ResolverUtil<Object> resolverUtil = new ResolverUtil<>();
+    resolverUtil.find(new ResolverUtil.IsA(Object.class), packageName);
+    warmUp(reflectorFactory, resolverUtil.getClasses());
+  }
+
+  private static void warmUp(ReflectorFactory reflectorFactory, Class<?> type) {
+    try {
+      reflectorFactory.findForClass(type);
+    } catch (RuntimeException | LinkageError e) {
+      if (log.isDebugEnabled()) {
+        log.debug("Could not warm up the reflector of " + type + ".  Cause: " + e);
+      }
+    }
+  }
+
+  private static boolean isReflectable(Class<?> type) {
+    return type != null && !type.isPrimitive() && !type.isArray() && !type.isAnnotation();
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A {@link ReflectorFactory} that restores reflectors from a {@link ReflectorSnapshot} saved by a previous run, which
+ * shortens the cold start of applications with many mapped types. Classes missing from the snapshot, or changed since
+ * it was saved, are reflected as usual.
+ * <p>
+ * Typical usage is to {@link #load(Path)} the snapshot before building the configuration and to {@link #save(Path)} it
+ * once the application is warmed up.
+ */
+public class SnapshotReflectorFactory implements ReflectorFactory {
+
+  private static final Log log = LogFactory.getLog(SnapshotReflectorFactory.class);
+
+  private boolean classCacheEnabled = true;
+  private final ConcurrentMap<Class<?>, Reflector> reflectorMap = new ConcurrentHashMap<>();
+  private volatile ReflectorSnapshot snapshot = new ReflectorSnapshot();
+
+  public SnapshotReflectorFactory() {
+  }
+
+  public SnapshotReflectorFactory(ReflectorSnapshot snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  @Override
+  public boolean isClassCacheEnabled() {
+    return classCacheEnabled;
+  }
+
+  @Override
+  public void setClassCacheEnabled(boolean classCacheEnabled) {
+    this.classCacheEnabled = classCacheEnabled;
+  }
+
+  @Override
+  public Reflector findForClass(Class<?> type) {
+    if (classCacheEnabled) {
+      return reflectorMap.computeIfAbsent(type, this::newReflector);
+    }
+    return newReflector(type);
+  }
+
+  /**
+   * Reads the snapshot from a file. A missing file leaves the factory with an empty snapshot.
+   *
+   * @param file
+   *          the snapshot file
+   *
+   * @throws IOException
+   *           if the file exists but cannot be read
+   */
+  public void load(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      snapshot = ReflectorSnapshot.read(in);
+    } catch (NoSuchFileException e) {
+      snapshot = new ReflectorSnapshot();
+    }
+  }
+
+  /**
+   * Writes the reflectors cached by this factory, along with the entries of the loaded snapshot, to a file. The file
+   * is replaced atomically where the file system supports it, and by a plain move otherwise.
+   *
+   * @param file
+   *          the snapshot file
+   *
+   * @throws IOException
+   *           if the file cannot be written
+   */
+  public void save(Path file) throws IOException {
+    ReflectorSnapshot current = snapshot;
+    for (Reflector reflector : reflectorMap.values()) {
+      current.put(reflector);
+    }
+    Path directory = file.toAbsolutePath().getParent();
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        current.write(out);
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  public ReflectorSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  private Reflector newReflector(Class<?> type) {
+    ReflectorSnapshot.ClassEntry entry = snapshot.get(type);
+    if (entry != null) {
+      try {
+        return new Reflector(type, entry);
+      } catch (RuntimeException e) {
+        if (log.isDebugEnabled()) {
+          log.debug("Could not restore the reflector of " + type + " from the snapshot, reflecting it instead.  Cause: "
+              + e);
+        }
+      }
+    }
+    return new Reflector(type);
+  }
+}
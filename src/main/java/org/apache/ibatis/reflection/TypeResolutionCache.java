@@ -0,0 +1,264 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes {@link TypeParameterResolver} so that a member is resolved once per source type.
+ * <p>
+ * Members whose declared types contain no type variable are returned as declared without touching the cache. Other
+ * results are attached through a {@link ClassValue} to the source class, which sees every class the result can refer
+ * to, so the cache never keeps a class loader alive. Resolved parameterized types are also shared between members when
+ * they are equal.
+ */
+public final class TypeResolutionCache {
+
+  private static final int MAX_ENTRIES_PER_CLASS = 1024;
+
+  // results keyed by member when the source type is the class itself, by MemberKey otherwise
+  private static final ClassValue<ConcurrentMap<Object, Object>> memberTypes = new ClassValue<>() {
+    @Override
+    protected ConcurrentMap<Object, Object> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private static final ClassValue<ConcurrentMap<Type, Type>> canonicalTypes = new ClassValue<>() {
+    @Override
+    protected ConcurrentMap<Type, Type> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private TypeResolutionCache() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Same as {@link TypeParameterResolver#resolveFieldType(Field, Type)}, memoized.
+   */
+  public static Type resolveFieldType(Field field, Type srcType) {
+    Type fieldType = field.getGenericType();
+    if (!hasTypeVariables(fieldType)) {
+      return fieldType;
+    }
+    return (Type) resolve(field, srcType, () -> canonical(TypeParameterResolver.resolveFieldType(field, srcType)));
+  }
+
+  /**
+   * Same as {@link TypeParameterResolver#resolveReturnType(Method, Type)}, memoized.
+   */
+  public static Type resolveReturnType(Method method, Type srcType) {
+    Type returnType = method.getGenericReturnType();
+    if (!hasTypeVariables(returnType)) {
+      return returnType;
+    }
+    return (Type) resolve(method, srcType, () -> canonical(TypeParameterResolver.resolveReturnType(method, srcType)));
+  }
+
+  /**
+   * Same as {@link TypeParameterResolver#resolveParamTypes(Method, Type)}, memoized.
+   */
+  public static Type[] resolveParamTypes(Method method, Type srcType) {
+    Type[] paramTypes = method.getGenericParameterTypes();
+    if (!hasTypeVariables(paramTypes)) {
+      return paramTypes;
+    }
+    Type[] resolvedTypes = (Type[]) resolve(method, srcType, () -> {
+      Type[] resolved = TypeParameterResolver.resolveParamTypes(method, srcType);
+      for (int i = 0; i < resolved.length; i++) {
+        resolved[i] = canonical(resolved[i]);
+      }
+      return resolved;
+    });
+    return resolvedTypes.clone();
+  }
+
+  private static Object resolve(Member member, Type srcType, Supplier<Object> resolver) {
+    Class<?> srcClass = rawClass(srcType);
+    if (!(srcType instanceof Class) && !isVisibleFrom(srcType, srcClass.getClassLoader())) {
+      // type arguments from another loader, caching them on the source class could pin that loader
+      return resolver.get();
+    }
+    ConcurrentMap<Object, Object> types = memberTypes.get(srcClass);
+    Object key = srcType instanceof Class ? member : new MemberKey(member, srcType);
+    Object resolved = types.get(key);
+    if (resolved == null) {
+      resolved = resolver.get();
+      if (types.size() < MAX_ENTRIES_PER_CLASS) {
+        Object existing = types.putIfAbsent(key, resolved);
+        if (existing != null) {
+          resolved = existing;
+        }
+      }
+    }
+    return resolved;
+  }
+
+  /**
+   * Returns a shared instance equal to the given type. Only parameterized types whose arguments are visible from the
+   * loader of their raw type are shared.
+   */
+  private static Type canonical(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      return type;
+    }
+    Class<?> rawType = rawClass(type);
+    if (!isVisibleFrom(((ParameterizedType) type).getActualTypeArguments(), rawType.getClassLoader())) {
+      return type;
+    }
+    ConcurrentMap<Type, Type> types = canonicalTypes.get(rawType);
+    Type existing = types.get(type);
+    if (existing != null) {
+      return existing;
+    }
+    if (types.size() < MAX_ENTRIES_PER_CLASS) {
+      existing = types.putIfAbsent(type, type);
+    }
+    return existing != null ? existing : type;
+  }
+
+  private static boolean hasTypeVariables(Type[] types) {
+    for (Type type : types) {
+      if (hasTypeVariables(type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasTypeVariables(Type type) {
+    if (type instanceof Class) {
+      return false;
+    }
+    if (type instanceof ParameterizedType) {
+      ParameterizedType parameterizedType = (ParameterizedType) type;
+      return parameterizedType.getOwnerType() != null && hasTypeVariables(parameterizedType.getOwnerType())
+          || hasTypeVariables(parameterizedType.getActualTypeArguments());
+    }
+    if (type instanceof GenericArrayType) {
+      return hasTypeVariables(((GenericArrayType) type).getGenericComponentType());
+    }
+    if (type instanceof WildcardType) {
+      WildcardType wildcardType = (WildcardType) type;
+      return hasTypeVariables(wildcardType.getLowerBounds()) || hasTypeVariables(wildcardType.getUpperBounds());
+    }
+    return true;
+  }
+
+  private static Class<?> rawClass(Type type) {
+    if (type instanceof Class) {
+      return (Class<?>) type;
+    }
+    if (type instanceof ParameterizedType) {
+      return (Class<?>) ((ParameterizedType) type).getRawType();
+    }
+    throw new IllegalArgumentException("The 2nd arg must be Class or ParameterizedType, but was: " + type.getClass());
+  }
+
+  private static boolean isVisibleFrom(Type[] types, ClassLoader classLoader) {
+    for (Type type : types) {
+      if (!isVisibleFrom(type, classLoader)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether all classes a type refers to are defined by the given loader or one of its ancestors, i.e. will
+   * not be unloaded before it.
+   */
+  private static boolean isVisibleFrom(Type type, ClassLoader classLoader) {
+    if (type instanceof Class) {
+      Class<?> clazz = (Class<?>) type;
+      while (clazz.isArray()) {
+        clazz = clazz.getComponentType();
+      }
+      ClassLoader definingLoader = clazz.getClassLoader();
+      for (ClassLoader loader = classLoader; definingLoader != null; loader = loader.getParent()) {
+        if (loader == definingLoader) {
+          return true;
+        }
+        if (loader == null) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (type instanceof ParameterizedType) {
+      ParameterizedType parameterizedType = (ParameterizedType) type;
+      return isVisibleFrom(parameterizedType.getRawType(), classLoader)
+          && (parameterizedType.getOwnerType() == null || isVisibleFrom(parameterizedType.getOwnerType(), classLoader))
+          && isVisibleFrom(parameterizedType.getActualTypeArguments(), classLoader);
+    }
+    if (type instanceof GenericArrayType) {
+      return isVisibleFrom(((GenericArrayType) type).getGenericComponentType(), classLoader);
+    }
+    if (type instanceof WildcardType) {
+      WildcardType wildcardType = (WildcardType) type;
+      return isVisibleFrom(wildcardType.getUpperBounds(), classLoader)
+          && isVisibleFrom(wildcardType.getLowerBounds(), classLoader);
+    }
+    if (type instanceof TypeVariable) {
+      Object declaration = ((TypeVariable<?>) type).getGenericDeclaration();
+      Class<?> declaringClass = declaration instanceof Class ? (Class<?>) declaration
+          : ((Member) declaration).getDeclaringClass();
+      return isVisibleFrom(declaringClass, classLoader);
+    }
+    return false;
+  }
+
+  private static final class MemberKey {
+    private final Member member;
+    private final Type srcType;
+    private final int hashCode;
+
+    MemberKey(Member member, Type srcType) {
+      this.member = member;
+      this.srcType = srcType;
+      this.hashCode = 31 * member.hashCode() + srcType.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MemberKey)) {
+        return false;
+      }
+      MemberKey other = (MemberKey) o;
+      return member.equals(other.member) && srcType.equals(other.srcType);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.factory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Constructors of one class, resolved once per argument type signature and kept as method handles that take their
+ * arguments as a single {@code Object[]}.
+ */
+final class ConstructorCache {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType DEFAULT_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+  private static final ClassValue<ConstructorCache> caches = new ClassValue<>() {
+    @Override
+    protected ConstructorCache computeValue(Class<?> type) {
+      return new ConstructorCache(type);
+    }
+  };
+
+  private final Class<?> type;
+  private final ConcurrentMap<List<Class<?>>, MethodHandle> constructors = new ConcurrentHashMap<>();
+  private volatile MethodHandle defaultConstructor;
+
+  private ConstructorCache(Class<?> type) {
+    this.type = type;
+  }
+
+  static ConstructorCache forClass(Class<?> type) {
+    return caches.get(type);
+  }
+
+  /**
+   * Gets the no-arg constructor as a {@code ()Object} handle.
+   */
+  MethodHandle getDefaultConstructor() throws ReflectiveOperationException {
+    MethodHandle handle = defaultConstructor;
+    if (handle == null) {
+      handle = unreflect(type.getDeclaredConstructor()).asType(DEFAULT_CONSTRUCTOR_TYPE);
+      defaultConstructor = handle;
+    }
+    return handle;
+  }
+
+  /**
+   * Gets the constructor matching the argument types as an {@code (Object[])Object} handle.
+   */
+  MethodHandle getConstructor(List<Class<?>> argTypes) throws ReflectiveOperationException {
+    MethodHandle handle = constructors.get(argTypes);
+    if (handle == null) {
+      Class<?>[] parameterTypes = argTypes.toArray(new Class<?>[0]);
+      handle = unreflect(type.getDeclaredConstructor(parameterTypes))
+          .asType(MethodType.genericMethodType(parameterTypes.length))
+          .asSpreader(Object[].class, parameterTypes.length);
+      // copy the key, the caller may reuse its list
+      constructors.putIfAbsent(List.of(parameterTypes), handle);
+    }
+    return handle;
+  }
+
+  private static MethodHandle unreflect(Constructor<?> constructor) throws IllegalAccessException {
+    try {
+      return LOOKUP.unreflectConstructor(constructor);
+    } catch (IllegalAccessException e) {
+      if (Reflector.canControlMemberAccessible()) {
+        constructor.setAccessible(true);
+        return LOOKUP.unreflectConstructor(constructor);
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.util.function.Function;
+
+/**
+ * Getter invoker backed by a compiled function instead of {@link java.lang.reflect.Method#invoke}.
+ *
+ * @see LambdaInvokerFactory
+ */
+public final class LambdaGetInvoker implements Invoker {
+
+  private final Function<Object, Object> getter;
+  private final Class<?> type;
+
+  public LambdaGetInvoker(Function<Object, Object> getter, Class<?> type) {
+    this.getter = getter;
+    this.type = type;
+  }
+
+  /**
+   * Reads the property without going through the {@code Object[]} based {@link #invoke(Object, Object[])} contract.
+   *
+   * @param target
+   *          the bean
+   *
+   * @return the property value
+   */
+  public Object get(Object target) {
+    return getter.apply(target);
+  }
+
+  @Override
+  public Object invoke(Object target, Object[] args) {
+    return getter.apply(target);
+  }
+
+  @Override
+  public Class<?> getType() {
+    return type;
+  }
+}
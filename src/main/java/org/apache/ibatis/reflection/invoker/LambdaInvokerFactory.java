@@ -0,0 +1,323 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Compiles getters, setters and fields into invokers that avoid reflective dispatch.
+ * <p>
+ * Methods are bound through {@link LambdaMetafactory} so that the JIT sees a plain interface call, fields are bound
+ * through {@link MethodHandle}s. Whenever a member cannot be compiled (e.g. a non-opened module or a final field) the
+ * reflective {@link MethodInvoker}, {@link GetFieldInvoker} or {@link SetFieldInvoker} is returned instead. Lambdas are
+ * only defined next to the bean class, other methods are invoked reflectively.
+ * <p>
+ * {@code int}, {@code long} and {@code double} properties can additionally be compiled into primitive accessors such as
+ * {@link IntGetter} or {@link LongSetter}, which neither box the value nor need an argument array. Those return
+ * {@code null} when the member cannot be compiled, callers are expected to fall back to the plain {@link Invoker}.
+ */
+public final class LambdaInvokerFactory {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType GETTER_FACTORY = MethodType.methodType(Function.class);
+  private static final MethodType GETTER_SAM = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_FACTORY = MethodType.methodType(BiConsumer.class);
+  private static final MethodType SETTER_SAM = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private LambdaInvokerFactory() {
+    // Prevent Instantiation of Static Class
+  }
+
+  public static Invoker forGetter(Method method) {
+    try {
+      MethodHandles.Lookup caller = lookupFor(method.getDeclaringClass(), method.getModifiers(), true);
+      MethodHandle handle = caller.unreflect(method);
+      Class<?> returnType = method.getReturnType();
+      CallSite site = LambdaMetafactory.metafactory(caller, "apply", GETTER_FACTORY, GETTER_SAM, handle,
+          MethodType.methodType(wrap(returnType), method.getDeclaringClass()));
+      @SuppressWarnings("unchecked")
+      Function<Object, Object> getter = (Function<Object, Object>) site.getTarget().invoke();
+      return new LambdaGetInvoker(getter, returnType);
+    } catch (Throwable t) {
+      return new MethodInvoker(method);
+    }
+  }
+
+  public static Invoker forSetter(Method method) {
+    try {
+      MethodHandles.Lookup caller = lookupFor(method.getDeclaringClass(), method.getModifiers(), true);
+      MethodHandle handle = caller.unreflect(method);
+      Class<?> paramType = method.getParameterTypes()[0];
+      CallSite site = LambdaMetafactory.metafactory(caller, "accept", SETTER_FACTORY, SETTER_SAM, handle,
+          MethodType.methodType(void.class, method.getDeclaringClass(), wrap(paramType)));
+      @SuppressWarnings("unchecked")
+      BiConsumer<Object, Object> setter = (BiConsumer<Object, Object>) site.getTarget().invoke();
+      return new LambdaSetInvoker(setter, paramType);
+    } catch (Throwable t) {
+      return new MethodInvoker(method);
+    }
+  }
+
+  public static Invoker forGetField(Field field) {
+    try {
+      MethodHandle handle = lookupFor(field.getDeclaringClass(), field.getModifiers(), false).unreflectGetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return new LambdaGetInvoker(new FieldGetter(handle.asType(GETTER_SAM), field), field.getType());
+    } catch (Throwable t) {
+      return new GetFieldInvoker(field);
+    }
+  }
+
+  public static Invoker forSetField(Field field) {
+    try {
+      MethodHandle handle = lookupFor(field.getDeclaringClass(), field.getModifiers(), false).unreflectSetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return new LambdaSetInvoker(new FieldSetter(handle.asType(SETTER_SAM), field), field.getType());
+    } catch (Throwable t) {
+      return new SetFieldInvoker(field);
+    }
+  }
+
+  public static IntGetter forIntGetter(Member member) {
+    if (member instanceof Field) {
+      MethodHandle handle = primitiveFieldHandle((Field) member, int.class, false);
+      return handle == null ? null : target -> {
+        try {
+          return (int) handle.invokeExact(target);
+        } catch (Throwable t) {
+          throw fieldAccessError(t, (Field) member, "read");
+        }
+      };
+    }
+    return primitiveAccessor(member, int.class, false, IntGetter.class, "getInt");
+  }
+
+  public static IntSetter forIntSetter(Member member) {
+    if (member instanceof Field) {
+      MethodHandle handle = primitiveFieldHandle((Field) member, int.class, true);
+      return handle == null ? null : (target, value) -> {
+        try {
+          handle.invokeExact(target, value);
+        } catch (Throwable t) {
+          throw fieldAccessError(t, (Field) member, "write");
+        }
+      };
+    }
+    return primitiveAccessor(member, int.class, true, IntSetter.class, "setInt");
+  }
+
+  public static LongGetter forLongGetter(Member member) {
+    if (member instanceof Field) {
+      MethodHandle handle = primitiveFieldHandle((Field) member, long.class, false);
+      return handle == null ? null : target -> {
+        try {
+          return (long) handle.invokeExact(target);
+        } catch (Throwable t) {
+          throw fieldAccessError(t, (Field) member, "read");
+        }
+      };
+    }
+    return primitiveAccessor(member, long.class, false, LongGetter.class, "getLong");
+  }
+
+  public static LongSetter forLongSetter(Member member) {
+    if (member instanceof Field) {
+      MethodHandle handle = primitiveFieldHandle((Field) member, long.class, true);
+      return handle == null ? null : (target, value) -> {
+        try {
+          handle.invokeExact(target, value);
+        } catch (Throwable t) {
+          throw fieldAccessError(t, (Field) member, "write");
+        }
+      };
+    }
+    return primitiveAccessor(member, long.class, true, LongSetter.class, "setLong");
+  }
+
+  public static DoubleGetter forDoubleGetter(Member member) {
+    if (member instanceof Field) {
+      MethodHandle handle = primitiveFieldHandle((Field) member, double.class, false);
+      return handle == null ? null : target -> {
+        try {
+          return (double) handle.invokeExact(target);
+        } catch (Throwable t) {
+          throw fieldAccessError(t, (Field) member, "read");
+        }
+      };
+    }
+    return primitiveAccessor(member, double.class, false, DoubleGetter.class, "getDouble");
+  }
+
+  public static DoubleSetter forDoubleSetter(Member member) {
+    if (member instanceof Field) {
+      MethodHandle handle = primitiveFieldHandle((Field) member, double.class, true);
+      return handle == null ? null : (target, value) -> {
+        try {
+          handle.invokeExact(target, value);
+        } catch (Throwable t) {
+          throw fieldAccessError(t, (Field) member, "write");
+        }
+      };
+    }
+    return primitiveAccessor(member, double.class, true, DoubleSetter.class, "setDouble");
+  }
+
+  /**
+   * Binds a getter {@code ()p} or a setter {@code (p)void} to a primitive accessor interface through
+   * {@link LambdaMetafactory}.
+   */
+  private static <T> T primitiveAccessor(Member member, Class<?> primitiveType, boolean setter, Class<T> accessorType,
+      String accessorMethod) {
+    if (!(member instanceof Method) || Modifier.isStatic(member.getModifiers())) {
+      return null;
+    }
+    Method method = (Method) member;
+    Class<?>[] paramTypes = method.getParameterTypes();
+    if (setter ? paramTypes.length != 1 || paramTypes[0] != primitiveType
+        : paramTypes.length != 0 || method.getReturnType() != primitiveType) {
+      return null;
+    }
+    try {
+      MethodHandles.Lookup caller = lookupFor(method.getDeclaringClass(), method.getModifiers(), true);
+      MethodHandle handle = caller.unreflect(method);
+      MethodType samType = setter ? MethodType.methodType(void.class, Object.class, primitiveType)
+          : MethodType.methodType(primitiveType, Object.class);
+      MethodType instantiatedType = setter ? MethodType.methodType(void.class, method.getDeclaringClass(), primitiveType)
+          : MethodType.methodType(primitiveType, method.getDeclaringClass());
+      CallSite site = LambdaMetafactory.metafactory(caller, accessorMethod, MethodType.methodType(accessorType), samType,
+          handle, instantiatedType);
+      return accessorType.cast(site.getTarget().invoke());
+    } catch (Throwable t) {
+      return null;
+    }
+  }
+
+  /**
+   * Gets a field handle typed {@code (Object)p} for reads or {@code (Object,p)void} for writes.
+   */
+  private static MethodHandle primitiveFieldHandle(Field field, Class<?> primitiveType, boolean setter) {
+    if (field.getType() != primitiveType) {
+      return null;
+    }
+    try {
+      MethodHandles.Lookup caller = lookupFor(field.getDeclaringClass(), field.getModifiers(), false);
+      MethodHandle handle = setter ? caller.unreflectSetter(field) : caller.unreflectGetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle.asType(setter ? MethodType.methodType(void.class, Object.class, primitiveType)
+          : MethodType.methodType(primitiveType, Object.class));
+    } catch (Throwable t) {
+      return null;
+    }
+  }
+
+  private static RuntimeException fieldAccessError(Throwable t, Field field, String action) {
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    return new ReflectionException("Could not " + action + " field '" + field.getName() + "'.  Cause: " + t, t);
+  }
+
+  /**
+   * Gets the lookup to bind a member with. When {@code definesClass} is set the lookup is used to spin a lambda, which
+   * must then be defined next to the bean: falling back to this library's lookup would define a class in this library's
+   * class loader that refers to the bean, and keep e.g. a redeployed web application's classes from being unloaded.
+   */
+  private static MethodHandles.Lookup lookupFor(Class<?> declaringClass, int modifiers, boolean definesClass)
+      throws IllegalAccessException {
+    boolean isPublic = Modifier.isPublic(modifiers) && Modifier.isPublic(declaringClass.getModifiers());
+    if (!isPublic && !Reflector.canControlMemberAccessible()) {
+      throw new IllegalAccessException("Cannot access non-public member of " + declaringClass);
+    }
+    try {
+      // the lambda is defined next to the bean so that it is visible from (and unloaded with) the bean's class loader
+      return MethodHandles.privateLookupIn(declaringClass, LOOKUP);
+    } catch (IllegalAccessException e) {
+      // e.g. a public getter of a JDK class whose package is not opened to us, a plain handle does not define a class
+      if (isPublic && !definesClass) {
+        return LOOKUP;
+      }
+      throw e;
+    }
+  }
+
+  private static Class<?> wrap(Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  private static final class FieldGetter implements Function<Object, Object> {
+    private final MethodHandle handle;
+    private final Field field;
+
+    FieldGetter(MethodHandle handle, Field field) {
+      this.handle = handle;
+      this.field = field;
+    }
+
+    @Override
+    public Object apply(Object target) {
+      try {
+        return handle.invokeExact(target);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not read field '" + field.getName() + "'.  Cause: " + t, t);
+      }
+    }
+  }
+
+  private static final class FieldSetter implements BiConsumer<Object, Object> {
+    private final MethodHandle handle;
+    private final Field field;
+
+    FieldSetter(MethodHandle handle, Field field) {
+      this.handle = handle;
+      this.field = field;
+    }
+
+    @Override
+    public void accept(Object target, Object value) {
+      try {
+        handle.invokeExact(target, value);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not write field '" + field.getName() + "'.  Cause: " + t, t);
+      }
+    }
+  }
+}
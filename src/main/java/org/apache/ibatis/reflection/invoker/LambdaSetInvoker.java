@@ -0,0 +1,57 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Setter invoker backed by a compiled function instead of {@link java.lang.reflect.Method#invoke}.
+ *
+ * @see LambdaInvokerFactory
+ */
+public final class LambdaSetInvoker implements Invoker {
+
+  private final BiConsumer<Object, Object> setter;
+  private final Class<?> type;
+
+  public LambdaSetInvoker(BiConsumer<Object, Object> setter, Class<?> type) {
+    this.setter = setter;
+    this.type = type;
+  }
+
+  /**
+   * Writes the property without allocating the argument array required by {@link #invoke(Object, Object[])}.
+   *
+   * @param target
+   *          the bean
+   * @param value
+   *          the new property value
+   */
+  public void set(Object target, Object value) {
+    setter.accept(target, value);
+  }
+
+  @Override
+  public Object invoke(Object target, Object[] args) {
+    setter.accept(target, args[0]);
+    return null;
+  }
+
+  @Override
+  public Class<?> getType() {
+    return type;
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.property;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+
+/**
+ * A property path such as {@code order.customer.addresses[0].city} that has been parsed once and cached.
+ * <p>
+ * Each segment keeps its name and its index (pre-parsed when numeric), so walking the path again does not re-parse the
+ * expression. The cache only holds strings: getters are resolved through the caller's {@link ReflectorFactory}, which
+ * keeps them per class, so cached paths neither pin classes nor share getters between configurations.
+ */
+public final class CompiledPropertyPath {
+
+  private static final int MAX_CACHE_SIZE = 4096;
+  private static final int NO_INT_INDEX = -1;
+  private static final ConcurrentMap<String, CompiledPropertyPath> cache = new ConcurrentHashMap<>();
+
+  private final String path;
+  private final PropertyTokenizer tokenizer;
+  private final Segment[] segments;
+
+  private CompiledPropertyPath(String path) {
+    this.path = path;
+    this.tokenizer = PropertyTokenizer.linked(path);
+    List<Segment> list = new ArrayList<>();
+    for (PropertyTokenizer prop = tokenizer; prop != null; prop = prop.hasNext() ? prop.next() : null) {
+      list.add(new Segment(prop));
+    }
+    this.segments = list.toArray(new Segment[0]);
+  }
+
+  /**
+   * Returns the compiled form of a property path. Paths are cached up to a fixed number of entries, after which new
+   * paths are compiled on every call instead of growing the cache.
+   *
+   * @param path
+   *          the property path
+   *
+   * @return the compiled path
+   */
+  public static CompiledPropertyPath compile(String path) {
+    CompiledPropertyPath compiled = cache.get(path);
+    if (compiled == null) {
+      compiled = new CompiledPropertyPath(path);
+      if (cache.size() < MAX_CACHE_SIZE) {
+        CompiledPropertyPath existing = cache.putIfAbsent(path, compiled);
+        if (existing != null) {
+          compiled = existing;
+        }
+      }
+    }
+    return compiled;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * Gets the tokenizer for the whole path. It is shared and its children are pre-built, so it must not be modified.
+   *
+   * @return the tokenizer
+   */
+  public PropertyTokenizer getTokenizer() {
+    return tokenizer;
+  }
+
+  public int size() {
+    return segments.length;
+  }
+
+  public Segment segment(int i) {
+    return segments[i];
+  }
+
+  /**
+   * Checks whether the path is a plain property name without children or index.
+   *
+   * @return true if the path has a single, non-indexed segment
+   */
+  public boolean isSimple() {
+    return segments.length == 1 && segments[0].index == null;
+  }
+
+  public static final class Segment {
+    private final PropertyTokenizer tokenizer;
+    private final String name;
+    private final String index;
+    private final int intIndex;
+
+    Segment(PropertyTokenizer tokenizer) {
+      this.tokenizer = tokenizer;
+      this.name = tokenizer.getName();
+      this.index = tokenizer.getIndex();
+      this.intIndex = parseIndex(index);
+    }
+
+    /**
+     * Gets the tokenizer for the path starting at this segment.
+     *
+     * @return the tokenizer
+     */
+    public PropertyTokenizer getTokenizer() {
+      return tokenizer;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getIndex() {
+      return index;
+    }
+
+    /**
+     * Returns the getter of this segment's property on the given class, as held by the class's reflector.
+     *
+     * @param type
+     *          the class owning the property
+     * @param reflectorFactory
+     *          the reflector factory of the caller
+     *
+     * @return the getter
+     */
+    public Invoker getGetInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      return reflectorFactory.findForClass(type).getGetInvoker(name);
+    }
+
+    /**
+     * Reads the indexed element of a collection resolved for this segment.
+     *
+     * @param collection
+     *          a Map, List or array
+     *
+     * @return the element
+     */
+    public Object getCollectionValue(Object collection) {
+      if (collection == null) {
+        throw new ReflectionException("Cannot get the value '" + tokenizer.getIndexedName() + "' because the property '"
+            + name + "' is null.");
+      }
+      if (collection instanceof Map) {
+        return ((Map<?, ?>) collection).get(index);
+      }
+      int i = intIndex == NO_INT_INDEX ? Integer.parseInt(index) : intIndex;
+      if (collection instanceof List) {
+        return ((List<?>) collection).get(i);
+      } else if (collection instanceof Object[]) {
+        return ((Object[]) collection)[i];
+      } else if (collection instanceof char[]) {
+        return ((char[]) collection)[i];
+      } else if (collection instanceof boolean[]) {
+        return ((boolean[]) collection)[i];
+      } else if (collection instanceof byte[]) {
+        return ((byte[]) collection)[i];
+      } else if (collection instanceof double[]) {
+        return ((double[]) collection)[i];
+      } else if (collection instanceof float[]) {
+        return ((float[]) collection)[i];
+      } else if (collection instanceof int[]) {
+        return ((int[]) collection)[i];
+      } else if (collection instanceof long[]) {
+        return ((long[]) collection)[i];
+      } else if (collection instanceof short[]) {
+        return ((short[]) collection)[i];
+      } else {
+        throw new ReflectionException("Cannot get the value '" + tokenizer.getIndexedName() + "' because the property '"
+            + name + "' is not Map, List or Array.");
+      }
+    }
+
+    private static int parseIndex(String index) {
+      if (index == null || index.isEmpty()) {
+        return NO_INT_INDEX;
+      }
+      for (int i = 0; i < index.length(); i++) {
+        if (!Character.isDigit(index.charAt(i))) {
+          return NO_INT_INDEX;
+        }
+      }
+      try {
+        return Integer.parseInt(index);
+      } catch (NumberFormatException e) {
+        return NO_INT_INDEX;
+      }
+    }
+  }
+}
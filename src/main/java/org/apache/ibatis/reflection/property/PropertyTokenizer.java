@@ -10,6 +10,7 @@ public class PropertyTokenizer implements Iterator<PropertyTokenizer> {
   private final String indexedName;
   private String index;
   private final String children;
+  private PropertyTokenizer child;
 
   public PropertyTokenizer(String fullname) {
     int delim = fullname.indexOf('.');
@@ -51,7 +52,18 @@ public class PropertyTokenizer implements Iterator<PropertyTokenizer> {
 
   @Override
   public PropertyTokenizer next() {
-    return new PropertyTokenizer(children);
+    return child != null ? child : new PropertyTokenizer(children);
+  }
+
+  /**
+   * Tokenizes the whole path up front so that {@link #next()} returns the pre-built child instead of re-parsing it.
+   */
+  static PropertyTokenizer linked(String fullname) {
+    PropertyTokenizer prop = new PropertyTokenizer(fullname);
+    if (prop.children != null) {
+      prop.child = linked(prop.children);
+    }
+    return prop;
   }
 
   @Override
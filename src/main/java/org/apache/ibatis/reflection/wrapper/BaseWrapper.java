@@ -21,6 +21,7 @@ import java.util.Map;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ReflectionException;
 import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.reflection.property.CompiledPropertyPath;
 import org.apache.ibatis.reflection.property.PropertyTokenizer;
 
 /**
@@ -128,7 +129,8 @@ public abstract class BaseWrapper implements ObjectWrapper {
         // don't instantiate child path if value is null
         return;
       }
-      metaValue = instantiatePropertyValue(null, new PropertyTokenizer(prop.getName()), metaObject.getObjectFactory());
+      metaValue = instantiatePropertyValue(null, CompiledPropertyPath.compile(prop.getName()).getTokenizer(),
+          metaObject.getObjectFactory());
     }
     metaValue.setValue(prop.getChildren(), value);
   }
@@ -22,10 +22,14 @@ import java.util.Map.Entry;
 import org.apache.ibatis.reflection.ExceptionUtil;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.PropertyPathResolver;
 import org.apache.ibatis.reflection.ReflectionException;
 import org.apache.ibatis.reflection.SystemMetaObject;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaGetInvoker;
+import org.apache.ibatis.reflection.invoker.LambdaSetInvoker;
+import org.apache.ibatis.reflection.property.CompiledPropertyPath;
 import org.apache.ibatis.reflection.property.PropertyTokenizer;
 
 /**
@@ -33,13 +37,13 @@ import org.apache.ibatis.reflection.property.PropertyTokenizer;
  */
 public class BeanWrapper extends BaseWrapper {
 
-  private final Object object;
-  private final MetaClass metaClass;
+  private Object object;
+  // created on first use, subclasses that serve simple properties themselves may never need it
+  private MetaClass metaClass;
 
   public BeanWrapper(MetaObject metaObject, Object object) {
     super(metaObject);
     this.object = object;
-    this.metaClass = MetaClass.forClass(object.getClass(), metaObject.getReflectorFactory());
   }
 
   @Override
@@ -64,87 +68,117 @@ public class BeanWrapper extends BaseWrapper {
     }
   }
 
+  @Override
+  public boolean rebind(Object object) {
+    this.object = object;
+    return true;
+  }
+
   @Override
   public String findProperty(String name, boolean useCamelCaseMapping) {
-    return metaClass.findProperty(name, useCamelCaseMapping);
+    if (name.indexOf('.') < 0 && name.indexOf('[') < 0) {
+      // a plain column label, resolved through the reflector's lookup table without normalizing the name first
+      return metaObject.getReflectorFactory().findForClass(object.getClass()).findPropertyName(name,
+          useCamelCaseMapping);
+    }
+    return metaClass().findProperty(name, useCamelCaseMapping);
   }
 
   @Override
   public String[] getGetterNames() {
-    return metaClass.getGetterNames();
+    return metaClass().getGetterNames();
   }
 
   @Override
   public String[] getSetterNames() {
-    return metaClass.getSetterNames();
+    return metaClass().getSetterNames();
   }
 
   @Override
   public Class<?> getSetterType(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (!prop.hasNext()) {
-      return metaClass.getSetterType(name);
+      return metaClass().getSetterType(name);
+    }
+    Entry<Type, Class<?>> resolved = resolve(name).getSetterType();
+    if (resolved != null) {
+      return resolved.getValue();
     }
     MetaObject metaValue = metaObject.metaObjectForProperty(prop.getIndexedName());
     if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-      return metaClass.getSetterType(name);
+      return metaClass().getSetterType(name);
     }
     return metaValue.getSetterType(prop.getChildren());
   }
 
   @Override
   public Entry<Type, Class<?>> getGenericSetterType(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (prop.hasNext()) {
+      Entry<Type, Class<?>> resolved = resolve(name).getSetterType();
+      if (resolved != null) {
+        return resolved;
+      }
       MetaObject metaValue = metaObject.metaObjectForProperty(prop.getIndexedName());
       if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-        return metaClass.getGenericSetterType(name);
+        return metaClass().getGenericSetterType(name);
       } else {
         return metaValue.getGenericSetterType(prop.getChildren());
       }
     } else {
-      return metaClass.getGenericSetterType(name);
+      return metaClass().getGenericSetterType(name);
     }
   }
 
   @Override
   public Class<?> getGetterType(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (!prop.hasNext()) {
-      return metaClass.getGetterType(name);
+      return metaClass().getGetterType(name);
+    }
+    Entry<Type, Class<?>> resolved = resolve(name).getGetterType();
+    if (resolved != null) {
+      return resolved.getValue();
     }
     MetaObject metaValue = metaObject.metaObjectForProperty(prop.getIndexedName());
     if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-      return metaClass.getGetterType(name);
+      return metaClass().getGetterType(name);
     }
     return metaValue.getGetterType(prop.getChildren());
   }
 
   @Override
   public Entry<Type, Class<?>> getGenericGetterType(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (prop.hasNext()) {
+      Entry<Type, Class<?>> resolved = resolve(name).getGetterType();
+      if (resolved != null) {
+        return resolved;
+      }
       MetaObject metaValue = metaObject.metaObjectForProperty(prop.getIndexedName());
       if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-        return metaClass.getGenericGetterType(name);
+        return metaClass().getGenericGetterType(name);
       } else {
         return metaValue.getGenericGetterType(prop.getChildren());
       }
     } else {
-      return metaClass.getGenericGetterType(name);
+      return metaClass().getGenericGetterType(name);
     }
   }
 
   @Override
   public boolean hasSetter(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (!prop.hasNext()) {
-      return metaClass.hasSetter(name);
+      return metaClass().hasSetter(name);
     }
-    if (metaClass.hasSetter(prop.getIndexedName())) {
+    if (metaClass().hasSetter(prop.getIndexedName())) {
+      if (resolve(name).hasSetter()) {
+        return true;
+      }
       MetaObject metaValue = metaObject.metaObjectForProperty(prop.getIndexedName());
       if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-        return metaClass.hasSetter(name);
+        return metaClass().hasSetter(name);
       }
       return metaValue.hasSetter(prop.getChildren());
     }
@@ -153,14 +187,17 @@ public class BeanWrapper extends BaseWrapper {
 
   @Override
   public boolean hasGetter(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (!prop.hasNext()) {
-      return metaClass.hasGetter(name);
+      return metaClass().hasGetter(name);
     }
-    if (metaClass.hasGetter(prop.getIndexedName())) {
+    if (metaClass().hasGetter(prop.getIndexedName())) {
+      if (resolve(name).hasGetter()) {
+        return true;
+      }
       MetaObject metaValue = metaObject.metaObjectForProperty(prop.getIndexedName());
       if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-        return metaClass.hasGetter(name);
+        return metaClass().hasGetter(name);
       }
       return metaValue.hasGetter(prop.getChildren());
     }
@@ -183,10 +220,30 @@ public class BeanWrapper extends BaseWrapper {
     return metaValue;
   }
 
+  private MetaClass metaClass() {
+    MetaClass result = metaClass;
+    if (result == null) {
+      result = MetaClass.forClass(object.getClass(), metaObject.getReflectorFactory());
+      metaClass = result;
+    }
+    return result;
+  }
+
+  /**
+   * Resolves a nested path from the declared property types. Only when that fails, e.g. for {@code Map} or
+   * {@code Object} typed properties, do the callers above look at the actual property values.
+   */
+  private PropertyPathResolver.Resolution resolve(String name) {
+    return PropertyPathResolver.resolve(object.getClass(), name, metaObject.getReflectorFactory());
+  }
+
   private Object getBeanProperty(PropertyTokenizer prop, Object object) {
     try {
-      Invoker method = metaClass.getGetInvoker(prop.getName());
+      Invoker method = metaClass().getGetInvoker(prop.getName());
       try {
+        if (method instanceof LambdaGetInvoker) {
+          return ((LambdaGetInvoker) method).get(object);
+        }
         return method.invoke(object, NO_ARGUMENTS);
       } catch (Throwable t) {
         throw ExceptionUtil.unwrapThrowable(t);
@@ -201,10 +258,14 @@ public class BeanWrapper extends BaseWrapper {
 
   private void setBeanProperty(PropertyTokenizer prop, Object object, Object value) {
     try {
-      Invoker method = metaClass.getSetInvoker(prop.getName());
-      Object[] params = { value };
+      Invoker method = metaClass().getSetInvoker(prop.getName());
       try {
-        method.invoke(object, params);
+        if (method instanceof LambdaSetInvoker) {
+          ((LambdaSetInvoker) method).set(object, value);
+        } else {
+          Object[] params = { value };
+          method.invoke(object, params);
+        }
       } catch (Throwable t) {
         throw ExceptionUtil.unwrapThrowable(t);
       }
@@ -0,0 +1,132 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.wrapper;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaGetInvoker;
+import org.apache.ibatis.reflection.invoker.LambdaSetInvoker;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+
+/**
+ * A {@link BeanWrapper} that reads and writes simple properties through the accessor slots of the bean's
+ * {@link Reflector}. Callers that resolved a slot with {@link Reflector#findPropertyIndex(String, boolean)} can skip
+ * the name lookup entirely with {@link #getValue(int)} and {@link #setValue(int, Object)}. Nested and indexed
+ * properties are handled by {@link BeanWrapper}.
+ *
+ * @see CompiledObjectWrapperFactory
+ */
+public class CompiledBeanWrapper extends BeanWrapper {
+
+  private Object object;
+  private final Reflector reflector;
+
+  CompiledBeanWrapper(MetaObject metaObject, Object object, Reflector reflector) {
+    super(metaObject, object);
+    this.object = object;
+    this.reflector = reflector;
+  }
+
+  @Override
+  public boolean rebind(Object object) {
+    this.object = object;
+    return super.rebind(object);
+  }
+
+  public Reflector getReflector() {
+    return reflector;
+  }
+
+  @Override
+  public Object get(PropertyTokenizer prop) {
+    if (!prop.hasNext() && prop.getIndex() == null) {
+      int slot = reflector.propertyIndex(prop.getName());
+      if (slot >= 0 && reflector.hasGetter(slot)) {
+        return getValue(slot);
+      }
+    }
+    return super.get(prop);
+  }
+
+  @Override
+  public void set(PropertyTokenizer prop, Object value) {
+    if (!prop.hasNext() && prop.getIndex() == null) {
+      int slot = reflector.propertyIndex(prop.getName());
+      if (slot >= 0 && reflector.hasSetter(slot)) {
+        setValue(slot, value);
+        return;
+      }
+    }
+    super.set(prop, value);
+  }
+
+  /**
+   * Reads a property by its slot in the bean's reflector.
+   *
+   * @param slot
+   *          the property slot
+   *
+   * @return the property value
+   */
+  public Object getValue(int slot) {
+    try {
+      Invoker method = reflector.getGetInvoker(slot);
+      try {
+        if (method instanceof LambdaGetInvoker) {
+          return ((LambdaGetInvoker) method).get(object);
+        }
+        return method.invoke(object, NO_ARGUMENTS);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not get property '" + reflector.getPropertyName(slot) + "' from "
+          + object.getClass() + ".  Cause: " + t.toString(), t);
+    }
+  }
+
+  /**
+   * Writes a property by its slot in the bean's reflector.
+   *
+   * @param slot
+   *          the property slot
+   * @param value
+   *          the value to set
+   */
+  public void setValue(int slot, Object value) {
+    try {
+      Invoker method = reflector.getSetInvoker(slot);
+      try {
+        if (method instanceof LambdaSetInvoker) {
+          ((LambdaSetInvoker) method).set(object, value);
+        } else {
+          Object[] params = { value };
+          method.invoke(object, params);
+        }
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not set property '" + reflector.getPropertyName(slot) + "' of '"
+          + object.getClass() + "' with value '" + value + "' Cause: " + t.toString(), t);
+    }
+  }
+}
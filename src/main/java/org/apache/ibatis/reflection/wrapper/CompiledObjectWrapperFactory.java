@@ -0,0 +1,47 @@
+/*
+ *    Copyright 2009-2025 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.wrapper;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * An {@link ObjectWrapperFactory} that wraps beans with a {@link CompiledBeanWrapper}.
+ * <p>
+ * Simple property reads and writes go straight to the accessor slots of the bean's {@link Reflector}, without building
+ * a {@code MetaClass} per instance, and callers that resolved a property slot once can use it for every row. The
+ * factory keeps no state of its own; reflectors are cached by the configured {@code ReflectorFactory}. Maps and
+ * collections are left to the default wrappers, and nested paths over beans are still walked by {@link MetaObject}
+ * without creating a wrapper per hop.
+ * <p>
+ * Enable it with {@code configuration.setObjectWrapperFactory(new CompiledObjectWrapperFactory())}.
+ */
+public class CompiledObjectWrapperFactory implements ObjectWrapperFactory {
+
+  @Override
+  public boolean hasWrapperFor(Object object) {
+    return !(object instanceof Map) && !(object instanceof Collection) && !object.getClass().isArray();
+  }
+
+  @Override
+  public ObjectWrapper getWrapperFor(MetaObject metaObject, Object object) {
+    return new CompiledBeanWrapper(metaObject, object,
+        metaObject.getReflectorFactory().findForClass(object.getClass()));
+  }
+}
@@ -24,6 +24,7 @@ import java.util.Map.Entry;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.property.CompiledPropertyPath;
 import org.apache.ibatis.reflection.property.PropertyTokenizer;
 
 /**
@@ -31,7 +32,7 @@ import org.apache.ibatis.reflection.property.PropertyTokenizer;
  */
 public class MapWrapper extends BaseWrapper {
 
-  protected final Map<String, Object> map;
+  protected Map<String, Object> map;
 
   public MapWrapper(MetaObject metaObject, Map<String, Object> map) {
     super(metaObject);
@@ -60,6 +61,13 @@ public class MapWrapper extends BaseWrapper {
     }
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean rebind(Object object) {
+    this.map = (Map<String, Object>) object;
+    return true;
+  }
+
   @Override
   public String findProperty(String name, boolean useCamelCaseMapping) {
     return name;
@@ -77,7 +85,7 @@ public class MapWrapper extends BaseWrapper {
 
   @Override
   public Class<?> getSetterType(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (prop.hasNext()) {
       MetaObject metaValue = metaObject.metaObjectForProperty(prop.getIndexedName());
       if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
@@ -86,11 +94,7 @@ public class MapWrapper extends BaseWrapper {
         return metaValue.getSetterType(prop.getChildren());
       }
     }
-    if (map.get(name) != null) {
-      return map.get(name).getClass();
-    } else {
-      return Object.class;
-    }
+    return valueType(name);
   }
 
   @Override
@@ -101,7 +105,7 @@ public class MapWrapper extends BaseWrapper {
 
   @Override
   public Class<?> getGetterType(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (prop.hasNext()) {
       MetaObject metaValue = metaObject.metaObjectForProperty(prop.getIndexedName());
       if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
@@ -110,11 +114,7 @@ public class MapWrapper extends BaseWrapper {
         return metaValue.getGetterType(prop.getChildren());
       }
     }
-    if (map.get(name) != null) {
-      return map.get(name).getClass();
-    } else {
-      return Object.class;
-    }
+    return valueType(name);
   }
 
   @Override
@@ -130,7 +130,7 @@ public class MapWrapper extends BaseWrapper {
 
   @Override
   public boolean hasGetter(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
+    PropertyTokenizer prop = CompiledPropertyPath.compile(name).getTokenizer();
     if (!prop.hasNext()) {
       return map.containsKey(prop.getName());
     }
@@ -154,6 +154,11 @@ public class MapWrapper extends BaseWrapper {
         metaObject.getReflectorFactory());
   }
 
+  private Class<?> valueType(String name) {
+    Object value = map.get(name);
+    return value != null ? value.getClass() : Object.class;
+  }
+
   @Override
   public boolean isCollection() {
     return false;
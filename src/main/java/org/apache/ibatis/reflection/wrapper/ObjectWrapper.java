@@ -64,4 +64,18 @@ public interface ObjectWrapper {
 
   <E> void addAll(List<E> element);
 
+  /**
+   * Points this wrapper at another object of the same class, keeping the metadata it resolved for the previous one.
+   *
+   * @param object
+   *          the new object
+   *
+   * @return true if the wrapper now wraps the object, false if it does not support rebinding
+   *
+   * @see MetaObject#rebind(Object)
+   */
+  default boolean rebind(Object object) {
+    return false;
+  }
+
 }
@@ -53,15 +53,21 @@ import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
+import org.apache.ibatis.executor.metrics.StatementMetricsRegistry;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.executor.statement.RoutingStatementHandler;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.io.VFS;
+import org.apache.ibatis.jfr.ConfigurationPhaseEvent;
+import org.apache.ibatis.jfr.MyBatisEvents;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.logging.commons.JakartaCommonsLoggingImpl;
+import org.apache.ibatis.logging.jdbc.AsyncJdbcLogDispatcher;
+import org.apache.ibatis.logging.jdbc.ConnectionLogger;
+import org.apache.ibatis.logging.jdbc.SampledStatementLog;
 import org.apache.ibatis.logging.jdk14.Jdk14LoggingImpl;
 import org.apache.ibatis.logging.log4j.Log4jImpl;
 import org.apache.ibatis.logging.log4j2.Log4j2Impl;
@@ -72,7 +78,9 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMap;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
 import org.apache.ibatis.parsing.XNode;
@@ -81,6 +89,7 @@ import org.apache.ibatis.plugin.InterceptorChain;
 import org.apache.ibatis.reflection.DefaultReflectorFactory;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.ReflectorWarmUp;
 import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
@@ -120,6 +129,12 @@ public class Configuration {
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
+  protected int statementLogSampleRate = 1;
+  protected int statementLogRateLimit;
+  protected long slowQueryThreshold;
+  protected AsyncJdbcLogDispatcher asyncLogDispatcher;
+  protected boolean statementMetricsEnabled;
+  protected boolean reflectorWarmUp;
   protected Class<? extends VFS> vfsImpl;
   protected Class<?> defaultSqlProviderType;
   protected LocalCacheScope localCacheScope = LocalCacheScope.SESSION;
@@ -154,6 +169,7 @@ public class Configuration {
   protected final TypeHandlerRegistry typeHandlerRegistry = new TypeHandlerRegistry(this);
   protected final TypeAliasRegistry typeAliasRegistry = new TypeAliasRegistry();
   protected final LanguageDriverRegistry languageRegistry = new LanguageDriverRegistry();
+  protected final StatementMetricsRegistry statementMetricsRegistry = new StatementMetricsRegistry();
 
   protected final Map<String, MappedStatement> mappedStatements = new StrictMap<MappedStatement>(
       "Mapped Statements collection")
@@ -175,6 +191,7 @@ public class Configuration {
   private final ReentrantLock incompleteCacheRefsLock = new ReentrantLock();
   private final ReentrantLock incompleteStatementsLock = new ReentrantLock();
   private final ReentrantLock incompleteMethodsLock = new ReentrantLock();
+  private volatile boolean reflectorsWarmedUp;
 
   /*
    * A map holds cache-ref relationship. The key is the namespace that references a cache bound to another namespace and
@@ -229,6 +246,112 @@ public class Configuration {
     this.logPrefix = logPrefix;
   }
 
+  public int getStatementLogSampleRate() {
+    return statementLogSampleRate;
+  }
+
+  /**
+   * Sets how many executions of each statement share one logged execution.
+   *
+   * @param statementLogSampleRate
+   *          1 to log every execution (the default), n to log one in n executions
+   *
+   * @see SampledStatementLog
+   */
+  public void setStatementLogSampleRate(int statementLogSampleRate) {
+    this.statementLogSampleRate = statementLogSampleRate;
+  }
+
+  public int getStatementLogRateLimit() {
+    return statementLogRateLimit;
+  }
+
+  /**
+   * Sets the maximum number of log lines per second and statement. An execution is only logged if the limit has not
+   * been reached when its statement is prepared, and then it is logged completely.
+   *
+   * @param statementLogRateLimit
+   *          the limit, 0 for no limit (the default)
+   *
+   * @see SampledStatementLog
+   */
+  public void setStatementLogRateLimit(int statementLogRateLimit) {
+    this.statementLogRateLimit = statementLogRateLimit;
+  }
+
+  public long getSlowQueryThreshold() {
+    return slowQueryThreshold;
+  }
+
+  /**
+   * Sets the execution time from which the statements of this configuration are logged at warn level with their
+   * parameters and row count, whether or not debug logging is enabled.
+   *
+   * @param slowQueryThreshold
+   *          the threshold in milliseconds, 0 to disable the slow query log (the default)
+   *
+   * @see ConnectionLogger#wrapIfNeeded(java.sql.Connection, MappedStatement, int)
+   */
+  public void setSlowQueryThreshold(long slowQueryThreshold) {
+    this.slowQueryThreshold = slowQueryThreshold;
+  }
+
+  public AsyncJdbcLogDispatcher getAsyncLogDispatcher() {
+    return asyncLogDispatcher;
+  }
+
+  /**
+   * Sets the dispatcher that formats and writes the JDBC debug log of this configuration's statements on a background
+   * thread. The dispatcher is started if needed. A dispatcher set before is closed once its pending events are written;
+   * connections still using it log synchronously from then on.
+   *
+   * @param asyncLogDispatcher
+   *          the dispatcher, or null to log synchronously (the default)
+   *
+   * @see ConnectionLogger#wrapIfNeeded(java.sql.Connection, MappedStatement, int)
+   */
+  public void setAsyncLogDispatcher(AsyncJdbcLogDispatcher asyncLogDispatcher) {
+    AsyncJdbcLogDispatcher previous = this.asyncLogDispatcher;
+    this.asyncLogDispatcher = asyncLogDispatcher == null ? null : asyncLogDispatcher.start();
+    if (previous != null && previous != asyncLogDispatcher) {
+      previous.close();
+    }
+  }
+
+  public boolean isStatementMetricsEnabled() {
+    return statementMetricsEnabled;
+  }
+
+  /**
+   * Sets whether the execution count, errors, rows and latencies of each mapped statement are recorded.
+   *
+   * @param statementMetricsEnabled
+   *          true to record the metrics, false to stop recording them (the default)
+   *
+   * @see #getStatementMetricsRegistry()
+   */
+  public void setStatementMetricsEnabled(boolean statementMetricsEnabled) {
+    this.statementMetricsEnabled = statementMetricsEnabled;
+  }
+
+  public boolean isReflectorWarmUp() {
+    return reflectorWarmUp;
+  }
+
+  /**
+   * Sets whether the reflectors of the types used by the mapped statements are built ahead of time, once all the
+   * statements have been built for the first time.
+   *
+   * @param reflectorWarmUp
+   *          true to warm up the reflectors, false to build them on first use (the default)
+   *
+   * @see #warmUpReflectors()
+   * @since 3.6.0
+   */
+  public void setReflectorWarmUp(boolean reflectorWarmUp) {
+    this.reflectorWarmUp = reflectorWarmUp;
+  }
+
   public Class<? extends Log> getLogImpl() {
     return logImpl;
   }
@@ -623,6 +746,16 @@ public class Configuration {
     return mapperRegistry;
   }
 
+  /**
+   * Returns the metrics of the mapped statements, keyed by statement id. Metrics are only recorded while
+   * {@link #isStatementMetricsEnabled()} is true.
+   *
+   * @return the statement metrics registry
+   */
+  public StatementMetricsRegistry getStatementMetricsRegistry() {
+    return statementMetricsRegistry;
+  }
+
   public ReflectorFactory getReflectorFactory() {
     return reflectorFactory;
   }
@@ -631,6 +764,77 @@ public class Configuration {
     this.reflectorFactory = reflectorFactory;
   }
 
+  /**
+   * Builds the reflectors of every type used by the registered result maps and parameter maps ahead of time, in
+   * parallel. It is recommended to call this method once all the mappers are added. Only the statements and result
+   * maps already built are covered; incomplete ones, e.g. waiting for a cache-ref or result map of another mapper, are
+   * not resolved by this method. JDK types, primitives, maps and collections are skipped.
+   *
+   * @see #setReflectorWarmUp(boolean)
+   * @since 3.6.0
+   */
+  public void warmUpReflectors() {
+    Set<Class<?>> types = new HashSet<>();
+    for (Object resultMapObject : resultMaps.values()) {
+      if (resultMapObject instanceof ResultMap) {
+        addResultMapTypes(types, (ResultMap) resultMapObject);
+      }
+    }
+    for (Object statementObject : mappedStatements.values()) {
+      if (statementObject instanceof MappedStatement) {
+        MappedStatement ms = (MappedStatement) statementObject;
+        ParameterMap parameterMap = ms.getParameterMap();
+        addWarmUpType(types, parameterMap.getType());
+        for (ParameterMapping parameterMapping : parameterMap.getParameterMappings()) {
+          addWarmUpType(types, parameterMapping.getJavaType());
+        }
+        for (ResultMap resultMap : ms.getResultMaps()) {
+          addResultMapTypes(types, resultMap);
+        }
+      }
+    }
+    ReflectorWarmUp.warmUp(reflectorFactory, types);
+  }
+
+  /**
+   * Builds the reflectors of the given types ahead of time, in parallel.
+   *
+   * @param types
+   *          the types to reflect
+   *
+   * @since 3.6.0
+   */
+  public void warmUpReflectors(Collection<Class<?>> types) {
+    ReflectorWarmUp.warmUp(reflectorFactory, types);
+  }
+
+  /**
+   * Builds the reflectors of all classes in a package (sub-packages included) ahead of time, in parallel.
+   *
+   * @param packageName
+   *          the package to scan
+   *
+   * @since 3.6.0
+   */
+  public void warmUpReflectors(String packageName) {
+    ReflectorWarmUp.warmUp(reflectorFactory, packageName);
+  }
+
+  private void addResultMapTypes(Set<Class<?>> types, ResultMap resultMap) {
+    addWarmUpType(types, resultMap.getType());
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      addWarmUpType(types, resultMapping.getJavaType());
+    }
+  }
+
+  private static void addWarmUpType(Set<Class<?>> types, Class<?> type) {
+    // simple values and containers are not mapped through their properties
+    if (type != null && !type.isPrimitive() && !type.isArray() && !type.getName().startsWith("java.")
+        && !Map.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type)) {
+      types.add(type);
+    }
+  }
+
   public ObjectFactory getObjectFactory() {
     return objectFactory;
   }
@@ -707,6 +911,20 @@ public class Configuration {
     return MetaObject.forObject(object, objectFactory, objectWrapperFactory, reflectorFactory);
   }
 
+  /**
+   * Creates a meta object that can be rebound to each new row object instead of creating one per row.
+   *
+   * @param object
+   *          the first object
+   *
+   * @return the meta object
+   *
+   * @see MetaObject#rebind(Object)
+   */
+  public MetaObject newReusableMetaObject(Object object) {
+    return MetaObject.forReusableObject(object, objectFactory, objectWrapperFactory, reflectorFactory);
+  }
+
   public ParameterHandler newParameterHandler(MappedStatement mappedStatement, Object parameterObject,
       BoundSql boundSql) {
     ParameterHandler parameterHandler = mappedStatement.getLang().createParameterHandler(mappedStatement,
@@ -971,10 +1189,19 @@ public class Configuration {
    * are added as it provides fail-fast statement validation.
    */
   protected void buildAllStatements() {
-    parsePendingResultMaps(true);
-    parsePendingCacheRefs(true);
-    parsePendingStatements(true);
-    parsePendingMethods(true);
+    ConfigurationPhaseEvent event = MyBatisEvents.beginPhase("buildAllStatements");
+    try {
+      parsePendingResultMaps(true);
+      parsePendingCacheRefs(true);
+      parsePendingStatements(true);
+      parsePendingMethods(true);
+    } finally {
+      MyBatisEvents.commitPhase(event);
+    }
+    if (reflectorWarmUp && !reflectorsWarmedUp) {
+      reflectorsWarmedUp = true;
+      warmUpReflectors();
+    }
   }
 
   public void parsePendingMethods(boolean reportUnresolved) {
@@ -1035,6 +1262,7 @@ public class Configuration {
     if (incompleteResultMaps.isEmpty()) {
       return;
     }
+    ConfigurationPhaseEvent event = MyBatisEvents.beginPhase("parsePendingResultMaps");
     incompleteResultMapsLock.lock();
     try {
       boolean resolved;
@@ -1058,6 +1286,7 @@ public class Configuration {
       }
     } finally {
       incompleteResultMapsLock.unlock();
+      MyBatisEvents.commitPhase(event);
     }
   }
 